@@ -0,0 +1,95 @@
+package uk.gov.hmcts.reform.sscs.docmosis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfDocumentRequestSerializer;
+
+/**
+ * Serialisation time and payload size of Docmosis render requests, comparing a default reflective ObjectMapper (as
+ * RestTemplate's Jackson converter uses) with {@link PdfDocumentRequestSerializer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PdfDocumentRequestSerializationBenchmark {
+
+    @Param({"letter", "caseData"})
+    public String template;
+
+    private PdfDocumentRequest request;
+    private ObjectMapper defaultMapper;
+    private PdfDocumentRequestSerializer serializer;
+    private PdfDocumentRequestSerializer gzipSerializer;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("appellant_full_name", "Harry Potter");
+        placeholders.put("case_reference", "1234567890123456");
+        placeholders.put("hearing_date", LocalDate.of(2024, 1, 31));
+        placeholders.put("representative_name", null);
+        placeholders.put("joint_party_name", "");
+        if ("caseData".equals(template)) {
+            placeholders.put("sscsCaseData", CaseDataUtils.buildCaseData());
+        }
+        request = PdfDocumentRequest.builder()
+                .accessKey("key")
+                .templateName("TB-SCS-GNO-ENG-00001.docx")
+                .outputName("result.pdf")
+                .data(placeholders)
+                .build();
+
+        defaultMapper = Jackson2ObjectMapperBuilder.json().build();
+        serializer = new PdfDocumentRequestSerializer(false, false);
+        gzipSerializer = new PdfDocumentRequestSerializer(false, true);
+    }
+
+    @Benchmark
+    public byte[] defaultObjectMapper(Payload payload) throws IOException {
+        byte[] bytes = defaultMapper.writeValueAsBytes(request);
+        payload.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] prebuiltWriter(Payload payload) throws IOException {
+        byte[] bytes = serializer.serialize(request);
+        payload.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] prebuiltWriterGzip(Payload payload) throws IOException {
+        byte[] bytes = gzipSerializer.serialize(request);
+        payload.bytes += bytes.length;
+        return bytes;
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceType;
+
+/**
+ * Cost of adding the correspondence for one notification round (appellant, representative and joint party) to a
+ * case's existing correspondence, comparing a copy and full sort with {@link CorrespondenceMerger}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CorrespondenceMergeBenchmark {
+
+    private static final DateTimeFormatter SENT_ON = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm", Locale.ENGLISH);
+
+    @Param({"10", "1000", "10000"})
+    public int existingEntries;
+
+    private List<Correspondence> existing;
+    private List<Correspondence> additions;
+
+    @Setup
+    public void setup() {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 9, 0);
+        List<Correspondence> all = new ArrayList<>();
+        for (int i = 0; i < existingEntries; i++) {
+            all.add(correspondence(start.plusHours(i), "existing " + i));
+        }
+        all.sort(Comparator.reverseOrder());
+        existing = all;
+
+        LocalDateTime sent = start.plusHours(existingEntries);
+        additions = List.of(
+            correspondence(sent, "appellant"),
+            correspondence(sent, "representative"),
+            correspondence(sent, "joint party"));
+    }
+
+    @Benchmark
+    public List<Correspondence> copyAndSort() {
+        List<Correspondence> all = new ArrayList<>(existing);
+        all.addAll(additions);
+        all.sort(Comparator.reverseOrder());
+        return all;
+    }
+
+    @Benchmark
+    public List<Correspondence> sortedMerge() {
+        return CorrespondenceMerger.merge(existing, additions);
+    }
+
+    @Benchmark
+    public List<Correspondence> sortedMergeNothingNew() {
+        return CorrespondenceMerger.merge(existing, List.of());
+    }
+
+    private static Correspondence correspondence(LocalDateTime sentOn, String to) {
+        return Correspondence.builder().value(
+            CorrespondenceDetails.builder()
+                .sentOn(sentOn.format(SENT_ON))
+                .from("from")
+                .to(to)
+                .body("the body")
+                .subject("a subject")
+                .eventType("event")
+                .correspondenceType(CorrespondenceType.Email)
+                .build()).build();
+    }
+}
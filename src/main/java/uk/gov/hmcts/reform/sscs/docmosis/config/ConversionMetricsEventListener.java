@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+
+/**
+ * Records the phases of each document conversion call (DNS, connect, time to first byte, response transfer and the
+ * whole call) as timers, one listener instance per call.
+ */
+public class ConversionMetricsEventListener extends EventListener {
+
+    private static final String PREFIX = "docmosis.convert.http.";
+
+    private final MeterRegistry meterRegistry;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long requestStart;
+    private long responseBodyStart;
+
+    ConversionMetricsEventListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static EventListener.Factory factory(MeterRegistry meterRegistry) {
+        return call -> new ConversionMetricsEventListener(meterRegistry);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        record("dns", dnsStart, "success");
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        record("connect", connectStart, "success");
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        record("connect", connectStart, "failure");
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        record("ttfb", requestStart, "success");
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        record("transfer", responseBodyStart, "success");
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        record("call", callStart, "success");
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        record("call", callStart, "failure");
+    }
+
+    private void record(String phase, long start, String outcome) {
+        if (start == 0) {
+            return;
+        }
+        Timer.builder(PREFIX + phase)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,18 +1,40 @@
 package uk.gov.hmcts.reform.sscs.docmosis.config;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
+import uk.gov.hmcts.reform.sscs.docmosis.service.AsyncDocmosisPdfGenerationService;
+import uk.gov.hmcts.reform.sscs.docmosis.service.BulkPdfGenerationService;
+import uk.gov.hmcts.reform.sscs.docmosis.service.CachingPdfGenerationService;
 import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisPdfGenerationService;
+import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisRenderMetrics;
+import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisTimeoutPolicy;
 import uk.gov.hmcts.reform.sscs.docmosis.service.DocumentManagementService;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfDocumentRequestSerializer;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfGenerationService;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
 import uk.gov.hmcts.reform.sscs.service.CcdPdfService;
+import uk.gov.hmcts.reform.sscs.service.SscsGeneratePdfService;
+import uk.gov.hmcts.reform.sscs.service.TemplateWarmUp;
 
 @Configuration
 @ConditionalOnProperty("service.pdf-service.uri")
-public class DocmosisConfiguration {
+public class DocmosisConfiguration implements DisposableBean {
+
+    private static final String ASYNC_CLIENT = "async";
 
     @Value("${service.pdf-service.uri}")
     private String pdfServiceEndpoint;
@@ -20,11 +42,146 @@ public class DocmosisConfiguration {
     @Value("${service.pdf-service.accessKey}")
     private String pdfServiceAccessKey;
 
+    @Value("${service.pdf-service.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${service.pdf-service.cache.maximum-bytes:67108864}")
+    private long cacheMaximumBytes;
+
+    @Value("${service.pdf-service.cache.time-to-live:PT10M}")
+    private Duration cacheTimeToLive;
+
+    @Value("${service.pdf-service.cache.excluded-templates:}")
+    private String[] cacheExcludedTemplates;
+
+    @Value("${service.pdf-service.bulk.parallelism:4}")
+    private int bulkParallelism;
+
+    @Value("${service.pdf-service.bulk.request-timeout:PT60S}")
+    private Duration bulkRequestTimeout;
+
+    @Value("${service.pdf-service.client:rest}")
+    private String pdfServiceClient;
+
+    @Value("${service.pdf-service.async.connect-timeout:PT10S}")
+    private Duration asyncConnectTimeout;
+
+    @Value("${service.pdf-service.async.request-timeout:PT60S}")
+    private Duration asyncRequestTimeout;
+
+    @Value("${service.pdf-service.serialization.suppress-empty-values:false}")
+    private boolean suppressEmptyValues;
+
+    @Value("${service.pdf-service.serialization.gzip:false}")
+    private boolean gzipRequests;
+
+    @Value("${service.pdf-service.warm-up.docmosis-templates:}")
+    private String[] warmUpDocmosisTemplates;
+
+    @Value("${service.pdf-service.warm-up.html-templates:}")
+    private String[] warmUpHtmlTemplates;
+
+    @Value("${service.pdf-service.warm-up.fail-on-error:false}")
+    private boolean warmUpFailOnError;
+
+    @Value("${service.pdf-service.pipeline.threads:8}")
+    private int pipelineThreads;
+
+    private final DocmosisTimeoutConfig timeoutConfig;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private ExecutorService pipelineExecutor;
+
+    public DocmosisConfiguration(DocmosisTimeoutConfig timeoutConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.timeoutConfig = timeoutConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public DocumentManagementService documentManagementService(RestTemplate restTemplate,
                                                                CcdPdfService ccdPdfService,
                                                                IdamService idamService) {
-        return new DocumentManagementService(new DocmosisPdfGenerationService(pdfServiceEndpoint,
-                pdfServiceAccessKey, restTemplate), ccdPdfService, idamService);
+        pipelineExecutor = Executors.newFixedThreadPool(pipelineThreads,
+                new ThreadFactoryBuilder().setNameFormat("docmosis-pipeline-%d").setDaemon(true).build());
+        return new DocumentManagementService(sscsDocmosisPdfGenerationService(restTemplate), ccdPdfService, idamService,
+                pipelineExecutor);
+    }
+
+    @Bean(destroyMethod = "close")
+    public BulkPdfGenerationService bulkPdfGenerationService(RestTemplate restTemplate) {
+        return new BulkPdfGenerationService(sscsDocmosisPdfGenerationService(restTemplate), bulkParallelism, bulkRequestTimeout);
+    }
+
+    /**
+     * The render service shared by the beans above. It is not a candidate for autowiring, so it never makes a
+     * {@link PdfGenerationService} the application injects by type ambiguous; the beans here get it by calling this
+     * method, which returns the one instance.
+     */
+    @Bean(autowireCandidate = false)
+    public PdfGenerationService sscsDocmosisPdfGenerationService(RestTemplate restTemplate) {
+        PdfGenerationService docmosisPdfGenerationService = ASYNC_CLIENT.equals(pdfServiceClient)
+                ? asyncPdfGenerationService()
+                : new DocmosisPdfGenerationService(pdfServiceEndpoint, pdfServiceAccessKey, restTemplate, requestSerializer(),
+                        docmosisRenderMetrics(), docmosisTimeoutPolicy());
+        return cacheEnabled
+                ? new CachingPdfGenerationService(docmosisPdfGenerationService, cacheMaximumBytes, cacheTimeToLive,
+                        Set.copyOf(Arrays.asList(cacheExcludedTemplates)), meterRegistry())
+                : docmosisPdfGenerationService;
+    }
+
+    @Bean
+    public DocmosisRenderMetrics docmosisRenderMetrics() {
+        return new DocmosisRenderMetrics(meterRegistry());
+    }
+
+    @Bean
+    public DocmosisTimeoutPolicy docmosisTimeoutPolicy() {
+        return DocmosisTimeoutPolicy.builder()
+                .overrides(timeoutConfig.getTemplates())
+                .adaptive(timeoutConfig.isAdaptive())
+                .percentile(timeoutConfig.getPercentile())
+                .multiplier(timeoutConfig.getMultiplier())
+                .windowSize(timeoutConfig.getWindowSize())
+                .minimumSamples(timeoutConfig.getMinimumSamples())
+                .minimum(timeoutConfig.getMinimum())
+                .maximum(timeoutConfig.getMaximum())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "service.pdf-service.warm-up.enabled", havingValue = "true")
+    public TemplateWarmUp templateWarmUp(RestTemplate restTemplate,
+                                         ObjectProvider<SscsGeneratePdfService> sscsGeneratePdfService) {
+        return new TemplateWarmUp(sscsDocmosisPdfGenerationService(restTemplate), sscsGeneratePdfService.getIfAvailable(),
+                Arrays.asList(warmUpDocmosisTemplates), Arrays.asList(warmUpHtmlTemplates), warmUpFailOnError);
+    }
+
+    /**
+     * Shuts down the pipeline pool once the document management service, which depends on this configuration, has
+     * been destroyed. The pool is not a bean itself so that it does not stand in for the application's task executor.
+     */
+    @Override
+    public void destroy() {
+        if (pipelineExecutor != null) {
+            pipelineExecutor.shutdown();
+        }
+    }
+
+    private AsyncDocmosisPdfGenerationService asyncPdfGenerationService() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(asyncConnectTimeout)
+                .build();
+        return new AsyncDocmosisPdfGenerationService(pdfServiceEndpoint, pdfServiceAccessKey, httpClient, asyncRequestTimeout,
+                requestSerializer(), docmosisRenderMetrics(), docmosisTimeoutPolicy());
+    }
+
+    private MeterRegistry meterRegistry() {
+        return meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    private PdfDocumentRequestSerializer requestSerializer() {
+        return new PdfDocumentRequestSerializer(suppressEmptyValues, gzipRequests);
     }
 }
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.pdf-service.timeout")
+@Getter
+@Setter
+public class DocmosisTimeoutConfig {
+    private Map<String, Duration> templates = new HashMap<>();
+    private boolean adaptive;
+    private double percentile = 0.99;
+    private double multiplier = 2.0;
+    private int windowSize = 100;
+    private int minimumSamples = 20;
+    private Duration minimum = Duration.ofSeconds(5);
+    private Duration maximum = Duration.ofSeconds(120);
+}
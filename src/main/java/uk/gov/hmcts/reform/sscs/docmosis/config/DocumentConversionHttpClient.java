@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Holds the OkHttpClient used for Docmosis document conversion. The client is wrapped rather than registered as an
+ * {@code OkHttpClient} bean, so it cannot make a host application's own client ambiguous to inject by type.
+ */
+public class DocumentConversionHttpClient {
+
+    private final OkHttpClient httpClient;
+
+    public DocumentConversionHttpClient(OkHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+}
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "docmosis.convert.http")
+@Getter
+@Setter
+public class DocumentConversionHttpConfig {
+    private int maxIdleConnections = 20;
+    private long keepAliveMillis = 300_000;
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 20;
+    private long connectTimeoutMillis = 10_000;
+    private long readTimeoutMillis = 60_000;
+    private long writeTimeoutMillis = 60_000;
+    private long callTimeoutMillis = 0;
+}
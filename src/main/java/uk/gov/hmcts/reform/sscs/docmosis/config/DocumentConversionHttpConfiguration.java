@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the OkHttpClient used for Docmosis document conversion, rather than relying on whatever client the host
+ * application defines. The client is deliberately not exposed as an {@code OkHttpClient} bean so it cannot clash
+ * with one the host already has; it is published inside a {@link DocumentConversionHttpClient} instead.
+ */
+@Configuration
+public class DocumentConversionHttpConfiguration {
+
+    @Bean
+    public DocumentConversionHttpClient documentConversionHttpClient(DocumentConversionHttpConfig config,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        return new DocumentConversionHttpClient(new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(config.getCallTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .eventListenerFactory(ConversionMetricsEventListener.factory(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)))
+                .build());
+    }
+}
@@ -1,8 +1,25 @@
 package uk.gov.hmcts.reform.sscs.docmosis.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +30,7 @@ import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
+import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisTimeoutPolicy;
 
 @Configuration
 @ConditionalOnProperty("http.connect.timeout")
@@ -27,31 +45,113 @@ public class HttpConnectionConfiguration {
     @Value("${http.connect.read.timeout}")
     private int httpConnectReadTimeout;
 
+    @Value("${http.connect.pool.max-total:50}")
+    private int poolMaxTotal;
+
+    @Value("${http.connect.pool.max-per-route:20}")
+    private int poolMaxPerRoute;
+
+    @Value("${http.connect.pool.keep-alive:30000}")
+    private long poolKeepAlive;
+
+    @Value("${http.connect.pool.idle-eviction:30000}")
+    private long poolIdleEviction;
+
+    @Value("${http.connect.pool.validate-after-inactivity:2000}")
+    private int poolValidateAfterInactivity;
+
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(ObjectProvider<MeterRegistry> meterRegistry) {
         RestTemplate restTemplate = new RestTemplate();
         restTemplate.getMessageConverters().add(new ByteArrayHttpMessageConverter());
         restTemplate.getMessageConverters().add(new FormHttpMessageConverter());
         restTemplate.getMessageConverters().add(new ResourceHttpMessageConverter());
 
-        restTemplate.setRequestFactory(getClientHttpRequestFactory());
+        restTemplate.setRequestFactory(getClientHttpRequestFactory(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
 
         return restTemplate;
     }
 
-    private ClientHttpRequestFactory getClientHttpRequestFactory() {
+    private ClientHttpRequestFactory getClientHttpRequestFactory(MeterRegistry meterRegistry) {
         RequestConfig config = RequestConfig.custom()
                 .setConnectTimeout(httpConnectTimeout)
                 .setConnectionRequestTimeout(httpConnectRequestTimeout)
                 .setSocketTimeout(httpConnectReadTimeout) // read time out
                 .build();
 
+        PoolingHttpClientConnectionManager connectionManager =
+                connectionManager(poolMaxTotal, poolMaxPerRoute, poolValidateAfterInactivity);
+        bindPoolMetrics(connectionManager, meterRegistry);
+
         CloseableHttpClient client = HttpClientBuilder
                 .create()
                 .useSystemProperties()
                 .setDefaultRequestConfig(config)
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(poolKeepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(poolIdleEviction, TimeUnit.MILLISECONDS)
                 .build();
 
-        return new HttpComponentsClientHttpRequestFactory(client);
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(client);
+        requestFactory.setHttpContextFactory((method, uri) -> renderContext(config));
+        return requestFactory;
+    }
+
+    /**
+     * Applies the read timeout chosen for the Docmosis template being rendered on this thread, if there is one.
+     */
+    static HttpContext renderContext(RequestConfig config) {
+        return DocmosisTimeoutPolicy.currentTimeout()
+                .map(timeout -> {
+                    HttpClientContext context = HttpClientContext.create();
+                    context.setRequestConfig(RequestConfig.copy(config).setSocketTimeout((int) timeout.toMillis()).build());
+                    return (HttpContext) context;
+                })
+                .orElse(null);
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(int maxTotal, int maxPerRoute, int validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry());
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+        return connectionManager;
+    }
+
+    /**
+     * The builder ignores useSystemProperties() for sockets once a connection manager is supplied, so the manager is
+     * given the system SSL socket factory itself. It honours the system keystore, truststore, https.protocols and
+     * https.cipherSuites as the client did before it was pooled.
+     */
+    static Registry<ConnectionSocketFactory> socketFactoryRegistry() {
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                .build();
+    }
+
+    /**
+     * Honours a Keep-Alive timeout sent by the server, otherwise keeps connections for the configured period rather
+     * than indefinitely.
+     */
+    static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMillis) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+        };
+    }
+
+    static void bindPoolMetrics(PoolingHttpClientConnectionManager connectionManager, MeterRegistry meterRegistry) {
+        poolGauge(meterRegistry, connectionManager, "http.connect.pool.leased", PoolStats::getLeased);
+        poolGauge(meterRegistry, connectionManager, "http.connect.pool.available", PoolStats::getAvailable);
+        poolGauge(meterRegistry, connectionManager, "http.connect.pool.pending", PoolStats::getPending);
+        poolGauge(meterRegistry, connectionManager, "http.connect.pool.max", PoolStats::getMax);
+    }
+
+    private static void poolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                                  String name, ToDoubleFunction<PoolStats> stat) {
+        Gauge.builder(name, connectionManager, manager -> stat.applyAsDouble(manager.getTotalStats()))
+                .register(meterRegistry);
     }
 }
@@ -1,36 +1,79 @@
 package uk.gov.hmcts.reform.sscs.docmosis.domain;
 
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class Pdf {
     private final byte[] content;
     private final String name;
+    private volatile byte[] digest;
 
     public Pdf(byte[] content, String name) {
         this.content = content;
         this.name = name;
     }
 
+    /**
+     * Returns a copy of the content. Prefer {@link #getContentBuffer()} or {@link #getContentStream()}, which do not
+     * copy it.
+     */
     public byte[] getContent() {
         return ArrayUtils.clone(content);
     }
 
+    /**
+     * Returns a read-only view of the content, or null if there is none.
+     */
+    public ByteBuffer getContentBuffer() {
+        return content == null ? null : ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a stream over the content, or null if there is none.
+     */
+    public InputStream getContentStream() {
+        return content == null ? null : new ByteArrayInputStream(content);
+    }
+
+    public int getSize() {
+        return content == null ? 0 : content.length;
+    }
+
     public String getName() {
         return name;
     }
 
+    private byte[] digest() {
+        byte[] result = digest;
+        if (result == null && content != null) {
+            result = Hashing.sha256().hashBytes(content).asBytes();
+            digest = result;
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof Pdf)) {
             return false;
         }
-        return EqualsBuilder.reflectionEquals(this, other);
+        Pdf that = (Pdf) other;
+        return Objects.equals(name, that.name)
+            && (content == null) == (that.content == null)
+            && getSize() == that.getSize()
+            && Arrays.equals(digest(), that.digest());
     }
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return 31 * Objects.hashCode(name) + Arrays.hashCode(digest());
     }
 }
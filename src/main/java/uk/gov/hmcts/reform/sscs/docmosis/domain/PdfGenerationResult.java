@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.sscs.docmosis.domain;
+
+import lombok.Value;
+
+@Value
+public class PdfGenerationResult {
+
+    private final DocumentHolder documentHolder;
+    private final byte[] pdf;
+    private final Throwable error;
+
+    public static PdfGenerationResult success(DocumentHolder documentHolder, byte[] pdf) {
+        return new PdfGenerationResult(documentHolder, pdf, null);
+    }
+
+    public static PdfGenerationResult failure(DocumentHolder documentHolder, Throwable error) {
+        return new PdfGenerationResult(documentHolder, null, error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
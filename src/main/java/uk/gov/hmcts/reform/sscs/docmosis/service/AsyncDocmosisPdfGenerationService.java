@@ -0,0 +1,157 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+/**
+ * Docmosis client built on the JDK's non-blocking {@link HttpClient}. Renders started with
+ * {@link #generatePdfAsync(DocumentHolder)} do not hold a thread while waiting for Docmosis, so callers can keep many
+ * renders in flight on a few threads.
+ */
+@Slf4j
+public class AsyncDocmosisPdfGenerationService implements PdfGenerationService {
+
+    private static final String TEMPLATE_EMPTY_MESSAGE = "document generation template cannot be empty";
+    private static final String PLACEHOLDERS_EMPTY_MESSAGE = "placeholders map cannot be null";
+
+    private final URI pdfServiceEndpoint;
+    private final String pdfServiceAccessKey;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final PdfDocumentRequestSerializer requestSerializer;
+    private final DocmosisRenderMetrics metrics;
+    private final DocmosisTimeoutPolicy timeoutPolicy;
+
+    public AsyncDocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                             String pdfServiceAccessKey,
+                                             HttpClient httpClient,
+                                             Duration requestTimeout,
+                                             PdfDocumentRequestSerializer requestSerializer) {
+        this(pdfServiceEndpoint, pdfServiceAccessKey, httpClient, requestTimeout, requestSerializer,
+                new DocmosisRenderMetrics(Metrics.globalRegistry));
+    }
+
+    public AsyncDocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                             String pdfServiceAccessKey,
+                                             HttpClient httpClient,
+                                             Duration requestTimeout,
+                                             PdfDocumentRequestSerializer requestSerializer,
+                                             DocmosisRenderMetrics metrics) {
+        this(pdfServiceEndpoint, pdfServiceAccessKey, httpClient, requestTimeout, requestSerializer, metrics,
+                DocmosisTimeoutPolicy.none());
+    }
+
+    /**
+     * The request timeout applies to templates the timeout policy has no timeout for.
+     */
+    public AsyncDocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                             String pdfServiceAccessKey,
+                                             HttpClient httpClient,
+                                             Duration requestTimeout,
+                                             PdfDocumentRequestSerializer requestSerializer,
+                                             DocmosisRenderMetrics metrics,
+                                             DocmosisTimeoutPolicy timeoutPolicy) {
+        this.pdfServiceEndpoint = URI.create(pdfServiceEndpoint);
+        this.pdfServiceAccessKey = pdfServiceAccessKey;
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.requestSerializer = requestSerializer;
+        this.metrics = metrics;
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    @Override
+    public byte[] generatePdf(DocumentHolder documentHolder) {
+        try {
+            return generatePdfAsync(documentHolder).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PdfGenerationException) {
+                throw (PdfGenerationException) e.getCause();
+            }
+            throw new PdfGenerationException("Failed to request PDF from REST endpoint " + e.getMessage(), e.getCause());
+        }
+    }
+
+    public CompletableFuture<byte[]> generatePdfAsync(DocumentHolder documentHolder) {
+        checkArgument(documentHolder.getTemplate() != null, TEMPLATE_EMPTY_MESSAGE);
+
+        String templateName = documentHolder.getTemplate().getTemplateName();
+
+        checkArgument(!isNullOrEmpty(templateName), TEMPLATE_EMPTY_MESSAGE);
+        checkNotNull(documentHolder.getPlaceholders(), PLACEHOLDERS_EMPTY_MESSAGE);
+
+        log.info("Making async request to Docmosis pdf service to generate pdf document with template {} "
+            + "and placeholders of size [{}] to endpoint {}", templateName, documentHolder.getPlaceholders().size(),
+                pdfServiceEndpoint);
+
+        Duration timeout = timeoutPolicy.timeoutFor(templateName).orElse(requestTimeout);
+        Timer.Sample sample = metrics.start();
+        HttpRequest request;
+        try {
+            byte[] body = requestSerializer.serialize(request(templateName, documentHolder));
+            metrics.requestSize(templateName, body.length);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(pdfServiceEndpoint)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/pdf, application/octet-stream")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            if (requestSerializer.isGzip()) {
+                builder.header("Content-Encoding", "gzip");
+            }
+            request = builder.build();
+        } catch (IOException e) {
+            metrics.failure(sample, templateName);
+            return CompletableFuture.failedFuture(new PdfGenerationException("Failed to serialise PDF request " + e.getMessage(), e));
+        }
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        if (error.getCause() instanceof HttpTimeoutException || error instanceof HttpTimeoutException) {
+                            timeoutPolicy.record(templateName, timeout);
+                        }
+                        metrics.failure(sample, templateName);
+                        log.error("Failed to request PDF from Docmosis REST endpoint " + pdfServiceEndpoint + " with error "
+                                + error.getMessage(), error);
+                        throw new PdfGenerationException("Failed to request PDF from REST endpoint " + error.getMessage(), error);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        metrics.failure(sample, templateName);
+                        log.error("Docmosis REST endpoint {} returned status {} for template {}", pdfServiceEndpoint,
+                                response.statusCode(), templateName);
+                        throw new PdfGenerationException("Failed to request PDF from REST endpoint, status " + response.statusCode(),
+                                new IllegalStateException("Docmosis returned status " + response.statusCode()));
+                    }
+                    timeoutPolicy.record(templateName, Duration.ofNanos(System.nanoTime() - start));
+                    metrics.success(sample, templateName, response.body().length);
+                    return response.body();
+                });
+    }
+
+    private PdfDocumentRequest request(String templateName, DocumentHolder documentHolder) {
+        return PdfDocumentRequest.builder()
+            .accessKey(pdfServiceAccessKey)
+            .templateName(templateName)
+            .outputName("result.pdf")
+            .data(documentHolder.getPlaceholders())
+            .pdfArchiveMode(documentHolder.isPdfArchiveMode()).build();
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfGenerationResult;
+
+/**
+ * Renders a batch of documents concurrently, at most {@code parallelism} at a time. Each render has its own timeout,
+ * measured from when it starts rather than from when it was queued. A failed or timed out render is reported in its
+ * result and does not affect the rest of the batch.
+ *
+ * <p>The timeout is applied to the Docmosis request itself through {@link DocmosisTimeoutPolicy#withCeiling}, so a
+ * timed out render gives its thread back instead of blocking it until Docmosis answers. The result is also timed
+ * out after the same period, in case the render service does not take its timeouts from the policy.
+ */
+@Slf4j
+public class BulkPdfGenerationService implements AutoCloseable {
+
+    private final PdfGenerationService pdfGenerationService;
+    private final Duration requestTimeout;
+    private final ExecutorService executor;
+
+    public BulkPdfGenerationService(PdfGenerationService pdfGenerationService, int parallelism, Duration requestTimeout) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.requestTimeout = requestTimeout;
+        this.executor = Executors.newFixedThreadPool(parallelism, daemonThreadFactory());
+    }
+
+    /**
+     * Renders every holder and returns one result per holder, in the same order.
+     */
+    public List<PdfGenerationResult> generatePdfs(List<DocumentHolder> documentHolders) {
+        log.info("Generating a batch of {} documents", documentHolders.size());
+
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>(documentHolders.size());
+        for (DocumentHolder holder : documentHolders) {
+            futures.add(submit(holder));
+        }
+
+        List<PdfGenerationResult> results = new ArrayList<>(documentHolders.size());
+        for (int i = 0; i < documentHolders.size(); i++) {
+            DocumentHolder holder = documentHolders.get(i);
+            try {
+                results.add(PdfGenerationResult.success(holder, futures.get(i).join()));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                log.error("Failed to generate document from template {} in batch",
+                        holder.getTemplate() == null ? null : holder.getTemplate().getTemplateName(), cause);
+                results.add(PdfGenerationResult.failure(holder, cause));
+            }
+        }
+        return results;
+    }
+
+    private CompletableFuture<byte[]> submit(DocumentHolder holder) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                future.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                try {
+                    future.complete(DocmosisTimeoutPolicy.withCeiling(requestTimeout, () -> pdfGenerationService.generatePdf(holder)));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-pdf-generation-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+/**
+ * Caches rendered documents so that replayed or retried events do not render an identical document again. Entries
+ * are keyed by template name, archive mode and a hash of the placeholders serialised with sorted keys. Templates
+ * that embed the current date or anything else not held in the placeholders should be excluded.
+ *
+ * <p>The cache is bounded by the total size of the cached PDFs rather than their number, as renders run to several
+ * megabytes each.
+ */
+@Slf4j
+public class CachingPdfGenerationService implements PdfGenerationService {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new Jdk8Module())
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final PdfGenerationService delegate;
+    private final Set<String> excludedTemplates;
+    private final Cache<String, byte[]> cache;
+
+    public CachingPdfGenerationService(PdfGenerationService delegate,
+                                       long maximumBytes,
+                                       Duration timeToLive,
+                                       Set<String> excludedTemplates,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.excludedTemplates = Set.copyOf(excludedTemplates);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, byte[] pdf) -> pdf.length)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, "docmosis.render");
+    }
+
+    @Override
+    public byte[] generatePdf(DocumentHolder documentHolder) {
+        String key = cacheKey(documentHolder);
+        if (key == null) {
+            return delegate.generatePdf(documentHolder);
+        }
+
+        byte[] pdf = cache.getIfPresent(key);
+        if (pdf == null) {
+            pdf = delegate.generatePdf(documentHolder);
+            if (pdf != null) {
+                cache.put(key, pdf);
+            }
+        } else {
+            log.info("Using cached render of template {}", documentHolder.getTemplate().getTemplateName());
+        }
+        // callers own the array they are given, so the cached copy is never handed out
+        return pdf == null ? null : pdf.clone();
+    }
+
+    @Override
+    public void generatePdf(DocumentHolder documentHolder, OutputStream outputStream) {
+        String key = cacheKey(documentHolder);
+        byte[] pdf = key == null ? null : cache.getIfPresent(key);
+        if (pdf == null) {
+            // streamed renders are not buffered, so are not cached either
+            delegate.generatePdf(documentHolder, outputStream);
+            return;
+        }
+        try {
+            outputStream.write(pdf);
+        } catch (IOException e) {
+            throw new PdfGenerationException("Failed to write cached PDF " + e.getMessage(), e);
+        }
+    }
+
+    private String cacheKey(DocumentHolder holder) {
+        if (holder.getTemplate() == null || holder.getPlaceholders() == null
+                || excludedTemplates.contains(holder.getTemplate().getTemplateName())) {
+            return null;
+        }
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsBytes(holder.getPlaceholders());
+            return holder.getTemplate().getTemplateName() + "|" + holder.isPdfArchiveMode() + "|"
+                    + Hashing.sha256().hashBytes(canonical);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to build cache key for template {}, rendering without cache",
+                    holder.getTemplate().getTemplateName(), e);
+            return null;
+        }
+    }
+}
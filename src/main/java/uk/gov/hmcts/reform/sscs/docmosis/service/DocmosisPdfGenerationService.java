@@ -4,9 +4,15 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.OutputStream;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
@@ -21,20 +27,95 @@ public class DocmosisPdfGenerationService implements PdfGenerationService {
 
     private RestTemplate restTemplate;
 
+    private PdfDocumentRequestSerializer requestSerializer;
+
+    private DocmosisRenderMetrics metrics;
+
+    private DocmosisTimeoutPolicy timeoutPolicy;
+
     String templateEmptyMessage = "document generation template cannot be empty";
     String placeholdersEmptyMessage = "placeholders map cannot be null";
 
     public DocmosisPdfGenerationService(String pdfServiceEndpoint,
                                         String pdfServiceAccessKey,
                                         RestTemplate restTemplate) {
+        this(pdfServiceEndpoint, pdfServiceAccessKey, restTemplate, PdfDocumentRequestSerializer.defaultSerializer());
+    }
+
+    public DocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                        String pdfServiceAccessKey,
+                                        RestTemplate restTemplate,
+                                        PdfDocumentRequestSerializer requestSerializer) {
+        this(pdfServiceEndpoint, pdfServiceAccessKey, restTemplate, requestSerializer, new DocmosisRenderMetrics(Metrics.globalRegistry));
+    }
+
+    public DocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                        String pdfServiceAccessKey,
+                                        RestTemplate restTemplate,
+                                        PdfDocumentRequestSerializer requestSerializer,
+                                        DocmosisRenderMetrics metrics) {
+        this(pdfServiceEndpoint, pdfServiceAccessKey, restTemplate, requestSerializer, metrics, DocmosisTimeoutPolicy.none());
+    }
+
+    public DocmosisPdfGenerationService(String pdfServiceEndpoint,
+                                        String pdfServiceAccessKey,
+                                        RestTemplate restTemplate,
+                                        PdfDocumentRequestSerializer requestSerializer,
+                                        DocmosisRenderMetrics metrics,
+                                        DocmosisTimeoutPolicy timeoutPolicy) {
         this.pdfServiceEndpoint = pdfServiceEndpoint;
         this.pdfServiceAccessKey = pdfServiceAccessKey;
         this.restTemplate = restTemplate;
+        this.requestSerializer = requestSerializer;
+        this.metrics = metrics;
+        this.timeoutPolicy = timeoutPolicy;
     }
 
     @Override
     public byte[] generatePdf(DocumentHolder documentHolder) {
+        String templateName = validate(documentHolder);
+
+        Timer.Sample sample = metrics.start();
+        try {
+            HttpEntity<byte[]> request = requestSerializer.httpEntity(request(templateName, documentHolder.getPlaceholders(), documentHolder.isPdfArchiveMode()));
+            metrics.requestSize(templateName, request.getBody().length);
+            ResponseEntity<byte[]> response = timeoutPolicy.withTimeout(templateName,
+                () -> restTemplate.postForEntity(pdfServiceEndpoint, request, byte[].class));
+            byte[] pdf = response.getBody();
+            metrics.success(sample, templateName, pdf == null ? 0 : pdf.length);
+            return pdf;
+        } catch (Exception e) {
+            metrics.failure(sample, templateName);
+            log.error("Failed to request PDF from Docmosis REST endpoint " + this.pdfServiceEndpoint + " with error " +
+                    e.getMessage(), e);
+            throw new PdfGenerationException("Failed to request PDF from REST endpoint " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies the Docmosis response straight into the given stream rather than buffering it as a byte array.
+     */
+    @Override
+    public void generatePdf(DocumentHolder documentHolder, OutputStream outputStream) {
+        String templateName = validate(documentHolder);
 
+        Timer.Sample sample = metrics.start();
+        try {
+            HttpEntity<byte[]> request = requestSerializer.httpEntity(request(templateName, documentHolder.getPlaceholders(), documentHolder.isPdfArchiveMode()));
+            metrics.requestSize(templateName, request.getBody().length);
+            Integer copied = timeoutPolicy.withTimeout(templateName,
+                () -> restTemplate.execute(pdfServiceEndpoint, HttpMethod.POST, restTemplate.httpEntityCallback(request, byte[].class),
+                    response -> StreamUtils.copy(response.getBody(), outputStream)));
+            metrics.success(sample, templateName, copied == null ? 0 : copied);
+        } catch (Exception e) {
+            metrics.failure(sample, templateName);
+            log.error("Failed to stream PDF from Docmosis REST endpoint " + this.pdfServiceEndpoint + " with error " +
+                    e.getMessage(), e);
+            throw new PdfGenerationException("Failed to stream PDF from REST endpoint " + e.getMessage(), e);
+        }
+    }
+
+    private String validate(DocumentHolder documentHolder) {
         checkArgument(documentHolder.getTemplate() != null, templateEmptyMessage);
 
         String templateName = documentHolder.getTemplate().getTemplateName();
@@ -45,16 +126,7 @@ public class DocmosisPdfGenerationService implements PdfGenerationService {
         log.info("Making request to Docmosis pdf service to generate pdf document with template {} "
             + "and placeholders of size [{}] to endpoint {}", templateName, documentHolder.getPlaceholders().size(),
                 this.pdfServiceEndpoint);
-
-        try {
-            ResponseEntity<byte[]> response =
-                restTemplate.postForEntity(pdfServiceEndpoint, request(templateName, documentHolder.getPlaceholders(), documentHolder.isPdfArchiveMode()), byte[].class);
-            return response.getBody();
-        } catch (Exception e) {
-            log.error("Failed to request PDF from Docmosis REST endpoint " + this.pdfServiceEndpoint + " with error " +
-                    e.getMessage(), e);
-            throw new PdfGenerationException("Failed to request PDF from REST endpoint " + e.getMessage(), e);
-        }
+        return templateName;
     }
 
     private PdfDocumentRequest request(String templateName, Map<String, Object> placeholders, boolean pdfArchiveMode) {
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Docmosis render metrics, tagged by template so slow or bloated templates stand out: a render timer by outcome,
+ * request and response size distributions, and a gauge of renders currently in flight.
+ *
+ * <p>The in-flight count is kept per registry rather than per instance: Micrometer keeps the first gauge registered
+ * under a name and only weakly references its state, so every instance sharing a registry has to feed the same
+ * counter, and something other than the gauge has to keep that counter alive.
+ */
+public class DocmosisRenderMetrics {
+
+    private static final String TEMPLATE = "template";
+    private static final Map<MeterRegistry, AtomicInteger> IN_FLIGHT = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight;
+
+    public DocmosisRenderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.inFlight = IN_FLIGHT.computeIfAbsent(meterRegistry, DocmosisRenderMetrics::registerInFlight);
+    }
+
+    private static AtomicInteger registerInFlight(MeterRegistry meterRegistry) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("docmosis.render.in.flight", inFlight, AtomicInteger::get)
+                .description("Docmosis renders currently in flight")
+                .register(meterRegistry);
+        return inFlight;
+    }
+
+    public Timer.Sample start() {
+        inFlight.incrementAndGet();
+        return Timer.start(meterRegistry);
+    }
+
+    public void requestSize(String templateName, long bytes) {
+        DistributionSummary.builder("docmosis.render.request.size")
+                .baseUnit("bytes")
+                .tag(TEMPLATE, templateName)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    public void success(Timer.Sample sample, String templateName, long responseBytes) {
+        DistributionSummary.builder("docmosis.render.response.size")
+                .baseUnit("bytes")
+                .tag(TEMPLATE, templateName)
+                .register(meterRegistry)
+                .record(responseBytes);
+        stop(sample, templateName, "success");
+    }
+
+    public void failure(Timer.Sample sample, String templateName) {
+        stop(sample, templateName, "failure");
+    }
+
+    private void stop(Timer.Sample sample, String templateName, String outcome) {
+        inFlight.decrementAndGet();
+        sample.stop(Timer.builder("docmosis.render")
+                .tag(TEMPLATE, templateName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
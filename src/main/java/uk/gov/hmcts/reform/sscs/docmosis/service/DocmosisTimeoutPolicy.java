@@ -0,0 +1,182 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.Builder;
+
+/**
+ * Chooses the timeout for a Docmosis render by template name, so a hung one page letter is not given as long as a
+ * forty page bundle. A template's timeout is its configured override if there is one; otherwise, in adaptive mode
+ * and once enough renders have been seen, it is the observed latency percentile times a multiplier, clamped to the
+ * minimum and maximum. Without either the HTTP client's own timeout applies.
+ *
+ * <p>RestTemplate renders pick the timeout up through {@link #currentTimeout()}, which is set for the duration of
+ * {@link #withTimeout(String, Supplier)}.
+ *
+ * <p>Callers with a deadline of their own, such as a batch render, run the render inside
+ * {@link #withCeiling(Duration, Supplier)}. No render on that thread is given longer than the ceiling, so the HTTP
+ * request itself gives up rather than only the caller stopping waiting for it.
+ */
+public class DocmosisTimeoutPolicy {
+
+    private static final ThreadLocal<Duration> CURRENT_TIMEOUT = new ThreadLocal<>();
+    private static final ThreadLocal<Duration> CEILING = new ThreadLocal<>();
+
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> overrides;
+    private final boolean adaptive;
+    private final double percentile;
+    private final double multiplier;
+    private final int windowSize;
+    private final int minimumSamples;
+    private final Duration minimum;
+    private final Duration maximum;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    @Builder
+    private DocmosisTimeoutPolicy(Duration defaultTimeout, Map<String, Duration> overrides, boolean adaptive,
+                                  Double percentile, Double multiplier, Integer windowSize, Integer minimumSamples,
+                                  Duration minimum, Duration maximum) {
+        this.defaultTimeout = defaultTimeout;
+        this.overrides = overrides == null ? Map.of() : Map.copyOf(overrides);
+        this.adaptive = adaptive;
+        this.percentile = percentile == null ? 0.99 : percentile;
+        this.multiplier = multiplier == null ? 2.0 : multiplier;
+        this.windowSize = windowSize == null ? 100 : windowSize;
+        this.minimumSamples = minimumSamples == null ? 20 : minimumSamples;
+        this.minimum = minimum == null ? Duration.ofSeconds(5) : minimum;
+        this.maximum = maximum == null ? Duration.ofSeconds(120) : maximum;
+
+        checkArgument(this.percentile > 0 && this.percentile <= 1, "percentile must be in (0, 1]");
+        checkArgument(this.windowSize > 0, "window size must be positive");
+        checkArgument(this.minimumSamples <= this.windowSize, "minimum samples cannot exceed the window size");
+        checkArgument(this.minimum.compareTo(this.maximum) <= 0, "minimum timeout cannot exceed the maximum");
+    }
+
+    public static DocmosisTimeoutPolicy none() {
+        return DocmosisTimeoutPolicy.builder().build();
+    }
+
+    /**
+     * The timeout of the render running on this thread inside {@link #withTimeout(String, Supplier)}, if any.
+     */
+    public static Optional<Duration> currentTimeout() {
+        return Optional.ofNullable(CURRENT_TIMEOUT.get());
+    }
+
+    /**
+     * Runs the render with every timeout chosen on this thread capped at the ceiling.
+     */
+    public static <T> T withCeiling(Duration ceiling, Supplier<T> render) {
+        Duration previous = CEILING.get();
+        CEILING.set(previous == null || ceiling.compareTo(previous) < 0 ? ceiling : previous);
+        try {
+            return render.get();
+        } finally {
+            if (previous == null) {
+                CEILING.remove();
+            } else {
+                CEILING.set(previous);
+            }
+        }
+    }
+
+    public Optional<Duration> timeoutFor(String templateName) {
+        Duration ceiling = CEILING.get();
+        Optional<Duration> timeout = uncappedTimeoutFor(templateName);
+        if (ceiling == null) {
+            return timeout;
+        }
+        return Optional.of(timeout.filter(t -> t.compareTo(ceiling) <= 0).orElse(ceiling));
+    }
+
+    private Optional<Duration> uncappedTimeoutFor(String templateName) {
+        Duration override = overrides.get(templateName);
+        if (override != null) {
+            return Optional.of(override);
+        }
+        if (adaptive) {
+            LatencyWindow window = windows.get(templateName);
+            if (window != null && window.size() >= minimumSamples) {
+                long millis = (long) (window.percentile(percentile) * multiplier);
+                return Optional.of(clamp(Duration.ofMillis(millis)));
+            }
+        }
+        return Optional.ofNullable(defaultTimeout);
+    }
+
+    /**
+     * Records how long a render took. A render that timed out should be recorded with the timeout it was given, so
+     * a template that has got slower pushes its timeout up rather than failing forever.
+     */
+    public void record(String templateName, Duration latency) {
+        if (adaptive) {
+            windows.computeIfAbsent(templateName, name -> new LatencyWindow(windowSize)).add(latency.toMillis());
+        }
+    }
+
+    public <T> T withTimeout(String templateName, Supplier<T> render) {
+        Optional<Duration> timeout = timeoutFor(templateName);
+        Duration previous = CURRENT_TIMEOUT.get();
+        timeout.ifPresent(CURRENT_TIMEOUT::set);
+        long start = System.nanoTime();
+        try {
+            T result = render.get();
+            record(templateName, Duration.ofNanos(System.nanoTime() - start));
+            return result;
+        } catch (RuntimeException e) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (timeout.isPresent() && elapsed.compareTo(timeout.get()) >= 0) {
+                record(templateName, timeout.get());
+            }
+            throw e;
+        } finally {
+            if (previous == null) {
+                CURRENT_TIMEOUT.remove();
+            } else {
+                CURRENT_TIMEOUT.set(previous);
+            }
+        }
+    }
+
+    private Duration clamp(Duration timeout) {
+        if (timeout.compareTo(minimum) < 0) {
+            return minimum;
+        }
+        return timeout.compareTo(maximum) > 0 ? maximum : timeout;
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        private LatencyWindow(int capacity) {
+            samples = new long[capacity];
+        }
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(index, 0)];
+        }
+    }
+}
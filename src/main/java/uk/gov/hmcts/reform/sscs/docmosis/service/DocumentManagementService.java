@@ -1,10 +1,15 @@
 package uk.gov.hmcts.reform.sscs.docmosis.service;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
 import uk.gov.hmcts.reform.sscs.service.CcdPdfService;
 
 @Slf4j
@@ -16,13 +21,34 @@ public class DocumentManagementService {
 
     private final IdamService idamService;
 
+    private final Executor executor;
+
+    /**
+     * Runs the blocking steps of {@link #generateDocumentAndAddToCcdAsync(DocumentHolder, SscsCaseData)} on a pool of
+     * eight daemon threads shared by every service created this way, rather than the common fork/join pool.
+     *
+     * @deprecated pass an executor owned and sized by the caller instead.
+     */
+    @Deprecated
     public DocumentManagementService(PdfGenerationService pdfGenerationService,
                                      CcdPdfService ccdPdfService,
                                      IdamService idamService) {
+        this(pdfGenerationService, ccdPdfService, idamService, DefaultExecutor.INSTANCE);
+    }
+
+    /**
+     * The executor runs the blocking steps of {@link #generateDocumentAndAddToCcdAsync(DocumentHolder, SscsCaseData)},
+     * so should be a pool sized for I/O and owned by the caller, rather than a shared pool such as the common
+     * fork/join pool.
+     */
+    public DocumentManagementService(PdfGenerationService pdfGenerationService,
+                                     CcdPdfService ccdPdfService,
+                                     IdamService idamService,
+                                     Executor executor) {
         this.pdfGenerationService = pdfGenerationService;
         this.ccdPdfService = ccdPdfService;
         this.idamService = idamService;
-
+        this.executor = executor;
     }
 
     public Pdf generateDocumentAndAddToCcd(DocumentHolder holder, SscsCaseData caseData) {
@@ -38,7 +64,37 @@ public class DocumentManagementService {
         return new Pdf(pdfBytes, pdfName);
     }
 
+    /**
+     * Does the same as {@link #generateDocumentAndAddToCcd(DocumentHolder, SscsCaseData)}, but fetches the IDAM tokens
+     * while the document renders instead of afterwards, and uploads as soon as both are ready. The returned future
+     * completes once the document has been added to the case.
+     */
+    public CompletableFuture<Pdf> generateDocumentAndAddToCcdAsync(DocumentHolder holder, SscsCaseData caseData) {
+        log.info("Generating template {} asynchronously for case id {}", holder.getTemplate().getHmctsDocName(), caseData.getCcdCaseId());
+
+        CompletableFuture<IdamTokens> idamTokens = CompletableFuture.supplyAsync(idamService::getIdamTokens, executor);
+        CompletableFuture<byte[]> pdfBytes = pdfGenerationService instanceof AsyncDocmosisPdfGenerationService
+                ? ((AsyncDocmosisPdfGenerationService) pdfGenerationService).generatePdfAsync(holder)
+                : CompletableFuture.supplyAsync(() -> pdfGenerationService.generatePdf(holder), executor);
+
+        return pdfBytes.thenCombineAsync(idamTokens, (bytes, tokens) -> {
+            String pdfName = getPdfName(holder.getTemplate().getHmctsDocName(), caseData.getCcdCaseId());
+
+            log.info("Adding document template {} to ccd for id {}", holder.getTemplate().getHmctsDocName(), caseData.getCcdCaseId());
+            String description = "Uploaded " + pdfName + " into SSCS";
+            ccdPdfService.mergeDocIntoCcd(pdfName, bytes, Long.valueOf(caseData.getCcdCaseId()), caseData, tokens, description, holder.getTemplate().getHmctsDocName());
+
+            return new Pdf(bytes, pdfName);
+        }, executor);
+    }
+
     private String getPdfName(String documentNamePrefix, String caseId) {
         return documentNamePrefix + "-" + caseId + ".pdf";
     }
+
+    private static final class DefaultExecutor {
+        private static final int THREADS = 8;
+        private static final Executor INSTANCE = Executors.newFixedThreadPool(THREADS,
+                new ThreadFactoryBuilder().setNameFormat("document-management-%d").setDaemon(true).build());
+    }
 }
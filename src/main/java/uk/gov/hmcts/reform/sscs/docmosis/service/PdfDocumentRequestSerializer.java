@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
+
+/**
+ * Serialises Docmosis render requests with a writer built once up front. The mapper comes from the same
+ * {@link Jackson2ObjectMapperBuilder} defaults as RestTemplate's Jackson converter, so by default the payload is the
+ * same JSON, dates included. Blackbird is added on top and replaces reflective property access with generated
+ * accessors, which matters for requests carrying a whole case data graph.
+ *
+ * <p>Leaving null and empty values out of the payload is opt-in, as templates can treat a missing field differently
+ * from an empty one. Gzip request encoding is optional as not every Docmosis deployment accepts it.
+ */
+public class PdfDocumentRequestSerializer {
+
+    private final ObjectWriter writer;
+    private final boolean gzip;
+
+    public PdfDocumentRequestSerializer(boolean suppressEmptyValues, boolean gzip) {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+        if (suppressEmptyValues) {
+            mapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, JsonInclude.Include.NON_EMPTY));
+        }
+        this.writer = mapper.writerFor(PdfDocumentRequest.class);
+        this.gzip = gzip;
+    }
+
+    public static PdfDocumentRequestSerializer defaultSerializer() {
+        return new PdfDocumentRequestSerializer(false, false);
+    }
+
+    public byte[] serialize(PdfDocumentRequest request) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 * 1024);
+        if (gzip) {
+            try (OutputStream out = new GZIPOutputStream(bytes)) {
+                writer.writeValue(out, request);
+            }
+        } else {
+            writer.writeValue(bytes, request);
+        }
+        return bytes.toByteArray();
+    }
+
+    public HttpEntity<byte[]> httpEntity(PdfDocumentRequest request) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new HttpEntity<>(serialize(request), headers);
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+}
@@ -1,7 +1,22 @@
 package uk.gov.hmcts.reform.sscs.docmosis.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
 
 public interface PdfGenerationService {
     byte[] generatePdf(DocumentHolder documentHolder);
+
+    /**
+     * Writes the generated PDF to the given stream. Implementations that can stream the response should override
+     * this so large documents are never held on the heap in full; the stream is not closed.
+     */
+    default void generatePdf(DocumentHolder documentHolder, OutputStream outputStream) {
+        try {
+            outputStream.write(generatePdf(documentHolder));
+        } catch (IOException e) {
+            throw new PdfGenerationException("Failed to write generated PDF " + e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.sscs.domain.pdf;
+
+import lombok.Value;
+
+@Value
+public class BilingualPdf {
+
+    private byte[] english;
+
+    private byte[] welsh;
+
+}
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.sscs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@SuppressWarnings("squid:MaximumInheritanceDepth")
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE,
+        reason = "Docmosis is currently unable to accept conversion requests")
+public class DocmosisUnavailableException extends RuntimeException {
+
+    public DocmosisUnavailableException(String message) {
+        super(message);
+    }
+}
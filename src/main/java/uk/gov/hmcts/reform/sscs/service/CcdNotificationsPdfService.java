@@ -2,17 +2,25 @@ package uk.gov.hmcts.reform.sscs.service;
 
 import static uk.gov.hmcts.reform.sscs.model.LetterType.*;
 
-import java.io.ByteArrayInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pdf.service.client.PDFServiceClient;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
@@ -20,14 +28,13 @@ import uk.gov.hmcts.reform.sscs.ccd.exception.CcdException;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
 import uk.gov.hmcts.reform.sscs.ccd.service.UpdateCcdCaseService;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
-import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
 import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
 import uk.gov.hmcts.reform.sscs.model.LetterType;
 
 @Service
 @Slf4j
-public class CcdNotificationsPdfService {
+public class CcdNotificationsPdfService implements DisposableBean {
 
     @Autowired
     private PdfStoreService pdfStoreService;
@@ -44,15 +51,38 @@ public class CcdNotificationsPdfService {
     @Autowired
     private IdamService idamService;
 
+    @Autowired
+    private TemplateRegistry templateRegistry;
+
+    @Autowired(required = false)
+    private LocalHtmlPdfRenderer localHtmlPdfRenderer;
+
+    @Autowired(required = false)
+    private CorrespondenceCoalescingBuffer correspondenceCoalescingBuffer;
+
+    @Autowired(required = false)
+    private CorrespondenceUploadStore correspondenceUploadStore;
+
     private static final String DEFAULT_SENDER_TYPE = "Gov Notify";
 
+    private static final String SENT_NOTIFICATION_TEMPLATE = "/templates/sent_notification.html";
+
+    private static final long DEFAULT_MERGE_MAX_MAIN_MEMORY_BYTES = 16L * 1024 * 1024;
+
+    private static final int DEFAULT_UPLOAD_THREADS = 8;
+
+    @Value("${pdf.merge.max-main-memory-bytes:16777216}")
+    private long mergeMaxMainMemoryBytes = DEFAULT_MERGE_MAX_MAIN_MEMORY_BYTES;
+
+    @Value("${pdf.correspondence.upload-threads:8}")
+    private int uploadThreads = DEFAULT_UPLOAD_THREADS;
+
+    private ExecutorService uploadExecutor;
+
 
     public SscsCaseData mergeCorrespondenceIntoCcd(SscsCaseData sscsCaseData, Correspondence correspondence) {
-        List<Correspondence> existingCorrespondence = sscsCaseData.getCorrespondence() == null ? new ArrayList<>() : sscsCaseData.getCorrespondence();
-        List<Correspondence> allCorrespondence = new ArrayList<>(existingCorrespondence);
-        allCorrespondence.addAll(getCorrespondences(correspondence));
-        allCorrespondence.sort(Comparator.reverseOrder());
-        sscsCaseData.setCorrespondence(allCorrespondence);
+        sscsCaseData.setCorrespondence(CorrespondenceMerger.merge(sscsCaseData.getCorrespondence(),
+                getCorrespondences(sscsCaseData.getCcdCaseId(), correspondence)));
 
         SscsCaseDetails caseDetails = updateCaseInCcd(sscsCaseData, Long.parseLong(sscsCaseData.getCcdCaseId()), EventType.NOTIFICATION_SENT.getCcdType(),
                 idamService.getIdamTokens(), "Notification sent via Gov Notify");
@@ -67,15 +97,16 @@ public class CcdNotificationsPdfService {
      * @param correspondence - Correspondence which needs to be added to the case data
      */
     public void mergeCorrespondenceIntoCcdV2(Long caseId, Correspondence correspondence) {
-        List<Correspondence> updatedCorrespondences = getCorrespondences(correspondence);
+        List<Correspondence> updatedCorrespondences = getCorrespondences(Objects.toString(caseId, null), correspondence);
+
+        if (correspondenceCoalescingBuffer != null) {
+            correspondenceCoalescingBuffer.add(caseId, updatedCorrespondences);
+            return;
+        }
 
         Consumer<SscsCaseDetails> caseDataConsumer = caseDetails -> {
             SscsCaseData caseData = caseDetails.getData();
-            List<Correspondence> existingCorrespondence = caseData.getCorrespondence() == null ? new ArrayList<>() : caseData.getCorrespondence();
-            List<Correspondence> allCorrespondence = new ArrayList<>(existingCorrespondence);
-            allCorrespondence.addAll(updatedCorrespondences);
-            allCorrespondence.sort(Comparator.reverseOrder());
-            caseData.setCorrespondence(allCorrespondence);
+            caseData.setCorrespondence(CorrespondenceMerger.merge(caseData.getCorrespondence(), updatedCorrespondences));
         };
 
         try {
@@ -91,17 +122,14 @@ public class CcdNotificationsPdfService {
     }
 
     public SscsCaseData mergeLetterCorrespondenceIntoCcd(byte[] pdf, Long ccdCaseId, Correspondence correspondence, String senderType) {
-        final List<Correspondence> correspondences = getCorrespondences(pdf, correspondence);
+        CompletableFuture<List<Correspondence>> upload = uploadAsync(ccdCaseId, pdf, correspondence);
 
         IdamTokens idamTokens = idamService.getIdamTokens();
         final SscsCaseDetails sscsCaseDetails = ccdService.getByCaseId(ccdCaseId, idamTokens);
         final SscsCaseData sscsCaseData = sscsCaseDetails.getData();
+        final List<Correspondence> correspondences = join(upload);
 
-        List<Correspondence> existingCorrespondence = sscsCaseData.getCorrespondence() == null ? new ArrayList<>() : sscsCaseData.getCorrespondence();
-        List<Correspondence> allCorrespondence = new ArrayList<>(existingCorrespondence);
-        allCorrespondence.addAll(correspondences);
-        allCorrespondence.sort(Comparator.reverseOrder());
-        sscsCaseData.setCorrespondence(allCorrespondence);
+        sscsCaseData.setCorrespondence(CorrespondenceMerger.merge(sscsCaseData.getCorrespondence(), correspondences));
 
         String description = String.format("Notification sent via %s", senderType);
         SscsCaseDetails caseDetails = updateCaseInCcd(sscsCaseData, Long.parseLong(sscsCaseData.getCcdCaseId()), EventType.NOTIFICATION_SENT.getCcdType(),
@@ -115,15 +143,13 @@ public class CcdNotificationsPdfService {
     }
 
     public void mergeLetterCorrespondenceIntoCcdV2(byte[] pdf, Long ccdCaseId, Correspondence correspondence, String senderType) {
-        final List<Correspondence> correspondences = getCorrespondences(pdf, correspondence);
+        CompletableFuture<List<Correspondence>> upload = uploadAsync(ccdCaseId, pdf, correspondence);
+        IdamTokens idamTokens = idamService.getIdamTokens();
+        final List<Correspondence> correspondences = join(upload);
 
         Consumer<SscsCaseDetails> caseDataConsumer = sscsCaseDetails -> {
             SscsCaseData sscsCaseData = sscsCaseDetails.getData();
-            List<Correspondence> existingCorrespondence = sscsCaseData.getCorrespondence() == null ? new ArrayList<>() : sscsCaseData.getCorrespondence();
-            List<Correspondence> allCorrespondence = new ArrayList<>(existingCorrespondence);
-            allCorrespondence.addAll(correspondences);
-            allCorrespondence.sort(Comparator.reverseOrder());
-            sscsCaseData.setCorrespondence(allCorrespondence);
+            sscsCaseData.setCorrespondence(CorrespondenceMerger.merge(sscsCaseData.getCorrespondence(), correspondences));
         };
 
         String description = String.format("Notification sent via %s", senderType);
@@ -133,7 +159,7 @@ public class CcdNotificationsPdfService {
                     EventType.NOTIFICATION_SENT.getCcdType(),
                     "Notification sent",
                     description,
-                    idamService.getIdamTokens(),
+                    idamTokens,
                     caseDataConsumer);
         } catch (CcdException ccdEx) {
             log.error("Failed to update ccd case using v2 but carrying on [" + ccdCaseId + "] ["
@@ -142,19 +168,7 @@ public class CcdNotificationsPdfService {
     }
 
     public SscsCaseData mergeReasonableAdjustmentsCorrespondenceIntoCcd(List<Pdf> pdfs, Long ccdCaseId, Correspondence correspondence, LetterType letterType) {
-        PDFMergerUtility merger = new PDFMergerUtility();
-        for (Pdf pdf : pdfs) {
-            merger.addSource(new ByteArrayInputStream(pdf.getContent()));
-        }
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        merger.setDestinationStream(baos);
-        try {
-            merger.mergeDocuments(null);
-        } catch (IOException e) {
-            log.error("Failed to create pdf of letter for {}", ccdCaseId, e);
-        }
-
-        byte[] letterDocument = baos.toByteArray();
+        byte[] letterDocument = getMergedDocument(pdfs, ccdCaseId);
 
         return mergeReasonableAdjustmentsCorrespondenceIntoCcd(letterDocument, ccdCaseId, correspondence, letterType);
     }
@@ -162,7 +176,7 @@ public class CcdNotificationsPdfService {
     public SscsCaseData mergeReasonableAdjustmentsCorrespondenceIntoCcd(byte[] letterDocument, Long ccdCaseId, Correspondence correspondence, LetterType letterType) {
         IdamTokens idamTokens = idamService.getIdamTokens();
 
-        var correspondences = getCorrespondences(letterDocument, correspondence);
+        var correspondences = getCorrespondences(Objects.toString(ccdCaseId, null), letterDocument, correspondence);
         Consumer<SscsCaseDetails> caseDetailsConsumer = caseDetails -> {
             caseDetails.getData().setReasonableAdjustmentsLetters(buildCorrespondenceByParty(caseDetails.getData(), correspondences, letterType));
             caseDetails.getData().updateReasonableAdjustmentsOutstanding();
@@ -183,7 +197,7 @@ public class CcdNotificationsPdfService {
     }
 
     public void mergeReasonableAdjustmentsCorrespondenceIntoCcdV2(byte[] letterDocument, Long ccdCaseId, Correspondence correspondence, LetterType letterType) {
-        List<Correspondence> correspondenceList = getCorrespondences(letterDocument, correspondence);
+        List<Correspondence> correspondenceList = getCorrespondences(Objects.toString(ccdCaseId, null), letterDocument, correspondence);
 
         Consumer<SscsCaseDetails> caseDataConsumer = sscsCaseDetails -> {
             SscsCaseData sscsCaseData = sscsCaseDetails.getData();
@@ -239,11 +253,7 @@ public class CcdNotificationsPdfService {
     }
 
     private List<Correspondence> buildCorrespondenceList(List<Correspondence> correspondences, List<Correspondence> existingCorrespondence) {
-        List<Correspondence> correspondence = new ArrayList<>(existingCorrespondence);
-        correspondence.addAll(correspondences);
-        correspondence.sort(Comparator.reverseOrder());
-
-        return correspondence;
+        return CorrespondenceMerger.merge(existingCorrespondence, correspondences);
     }
 
     private SscsCaseDetails updateCaseInCcd(SscsCaseData caseData, Long caseId, String eventId, IdamTokens idamTokens, String description) {
@@ -266,20 +276,16 @@ public class CcdNotificationsPdfService {
         }
     }
 
-    private byte[] getSentEmailTemplate() throws IOException {
-        InputStream in = getClass().getResourceAsStream("/templates/sent_notification.html");
-        return IOUtils.toByteArray(in);
-    }
-
     private byte[] getMergedDocument(List<Pdf> pdfs, Long ccdCaseId) {
         PDFMergerUtility merger = new PDFMergerUtility();
         for (Pdf pdf : pdfs) {
-            merger.addSource(new ByteArrayInputStream(pdf.getContent()));
+            merger.addSource(pdf.getContentStream());
         }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         merger.setDestinationStream(baos);
         try {
-            merger.mergeDocuments(null);
+            // sources and scratch buffers above the threshold go to temp files rather than the heap
+            merger.mergeDocuments(MemoryUsageSetting.setupMixed(mergeMaxMainMemoryBytes));
         } catch (IOException e) {
             log.error("Failed to create pdf of letter for {}", ccdCaseId, e);
         }
@@ -287,8 +293,33 @@ public class CcdNotificationsPdfService {
         return baos.toByteArray();
     }
 
+    /**
+     * Uploads the letter while the caller fetches what it needs from IDAM and CCD, so the two round trips overlap.
+     * When every upload thread is busy, or the service has been destroyed, the upload runs on the caller's thread
+     * instead.
+     */
+    private CompletableFuture<List<Correspondence>> uploadAsync(Long ccdCaseId, byte[] pdf, Correspondence correspondence) {
+        return CompletableFuture.supplyAsync(() -> getCorrespondences(Objects.toString(ccdCaseId, null), pdf, correspondence),
+                uploadExecutor());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @NotNull
-    private List<Correspondence> getCorrespondences(byte[] pdf, Correspondence correspondence) {
+    private List<Correspondence> getCorrespondences(String caseId, byte[] pdf, Correspondence correspondence) {
+        return uploadOnce(caseId, correspondence, pdf, () -> upload(pdf, correspondence));
+    }
+
+    private List<Correspondence> upload(byte[] pdf, Correspondence correspondence) {
         String filename = String.format("%s %s.pdf", removeDwpFromStartOfEventName(correspondence.getValue().getEventType()), correspondence.getValue().getSentOn());
         List<SscsDocument> pdfDocuments = pdfStoreService.store(pdf, filename, correspondence.getValue().getCorrespondenceType().name());
         return pdfDocuments.stream().map(doc ->
@@ -299,7 +330,19 @@ public class CcdNotificationsPdfService {
     }
 
     @NotNull
-    private List<Correspondence> getCorrespondences(Correspondence correspondence) {
+    private List<Correspondence> getCorrespondences(String caseId, Correspondence correspondence) {
+        return uploadOnce(caseId, correspondence, null, () -> renderAndUpload(correspondence));
+    }
+
+    private List<Correspondence> uploadOnce(String caseId, Correspondence correspondence, byte[] pdf,
+                                            Supplier<List<Correspondence>> upload) {
+        if (correspondenceUploadStore == null || caseId == null) {
+            return upload.get();
+        }
+        return correspondenceUploadStore.getOrUpload(caseId, correspondence, pdf, upload);
+    }
+
+    private List<Correspondence> renderAndUpload(Correspondence correspondence) {
         Map<String, Object> placeholders = new HashMap<>();
         placeholders.put("body", correspondence.getValue().getBody());
         placeholders.put("subject", correspondence.getValue().getSubject());
@@ -307,22 +350,28 @@ public class CcdNotificationsPdfService {
         placeholders.put("from", correspondence.getValue().getFrom());
         placeholders.put("to", correspondence.getValue().getTo());
 
-        byte[] template;
-        try {
-            template = getSentEmailTemplate();
-        } catch (IOException e) {
-            throw new PdfGenerationException("Error getting template", e);
+        byte[] pdf = localHtmlPdfRenderer != null && localHtmlPdfRenderer.renders(SENT_NOTIFICATION_TEMPLATE)
+                ? localHtmlPdfRenderer.generatePdf(SENT_NOTIFICATION_TEMPLATE, placeholders)
+                : pdfServiceClient.generateFromHtml(templateRegistry.getTemplate(SENT_NOTIFICATION_TEMPLATE), placeholders);
+        return upload(pdf, correspondence);
+    }
+
+    private synchronized ExecutorService uploadExecutor() {
+        if (uploadExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new ThreadFactoryBuilder().setNameFormat("correspondence-upload-%d").setDaemon(true).build(),
+                (task, pool) -> task.run());
+            executor.allowCoreThreadTimeOut(true);
+            uploadExecutor = executor;
         }
+        return uploadExecutor;
+    }
 
-        byte[] pdf = pdfServiceClient.generateFromHtml(template, placeholders);
-        String filename = String.format("%s %s.pdf", removeDwpFromStartOfEventName(correspondence.getValue().getEventType()), correspondence.getValue().getSentOn());
-        List<SscsDocument> pdfDocuments = pdfStoreService.store(pdf, filename, correspondence.getValue().getCorrespondenceType().name());
-        final List<Correspondence> correspondences = pdfDocuments.stream().map(doc ->
-                correspondence.toBuilder().value(correspondence.getValue().toBuilder()
-                        .documentLink(doc.getValue().getDocumentLink())
-                        .build()).build()
-        ).toList();
-        return correspondences;
+    @Override
+    public synchronized void destroy() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdown();
+        }
     }
 
     private String removeDwpFromStartOfEventName(String eventType) {
@@ -0,0 +1,219 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseDetails;
+import uk.gov.hmcts.reform.sscs.ccd.service.UpdateCcdCaseService;
+import uk.gov.hmcts.reform.sscs.idam.IdamService;
+
+/**
+ * Collects correspondence for a case over a short window and adds it in one NOTIFICATION_SENT event, rather than
+ * reading and writing the whole case once per notification when several go out together.
+ *
+ * <p>A single timer thread decides when each case is due; the updates themselves run on a small set of writer
+ * threads, each case always on the same one. Correspondence for a case therefore reaches CCD in the order it was added,
+ * and a slow update only holds up the cases that share its writer. A failed update is buffered again and retried a few
+ * times before the correspondence is given up on.
+ *
+ * <p>Anything still buffered is written when the application shuts down, and anything added after that is written
+ * straight away, on the case's writer while it is still running.
+ */
+@Component
+@ConditionalOnProperty(name = "pdf.correspondence.coalesce.enabled", havingValue = "true")
+@Slf4j
+public class CorrespondenceCoalescingBuffer implements DisposableBean {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final int DEFAULT_WRITERS = 4;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final UpdateCcdCaseService updateCcdCaseService;
+    private final IdamService idamService;
+    private final Duration window;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService[] writers;
+    private final Object[] writerLocks;
+
+    private final Map<Long, Batch> pending = new LinkedHashMap<>();
+    private boolean shutdown;
+
+    public CorrespondenceCoalescingBuffer(UpdateCcdCaseService updateCcdCaseService,
+                                          IdamService idamService,
+                                          Duration window) {
+        this(updateCcdCaseService, idamService, window, DEFAULT_WRITERS);
+    }
+
+    @Autowired
+    public CorrespondenceCoalescingBuffer(UpdateCcdCaseService updateCcdCaseService,
+                                          IdamService idamService,
+                                          @Value("${pdf.correspondence.coalesce.window:PT2S}") Duration window,
+                                          @Value("${pdf.correspondence.coalesce.writers:4}") int writers) {
+        this.updateCcdCaseService = updateCcdCaseService;
+        this.idamService = idamService;
+        this.window = window;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("correspondence-coalescing-%d").setDaemon(true).build());
+        ThreadFactory writerThreads = new ThreadFactoryBuilder().setNameFormat("correspondence-writer-%d").setDaemon(true).build();
+        this.writers = new ExecutorService[writers];
+        this.writerLocks = new Object[writers];
+        for (int i = 0; i < writers; i++) {
+            this.writers[i] = Executors.newSingleThreadExecutor(writerThreads);
+            this.writerLocks[i] = new Object();
+        }
+    }
+
+    public void add(Long caseId, List<Correspondence> correspondence) {
+        synchronized (this) {
+            if (!shutdown) {
+                buffer(caseId, new ArrayList<>(correspondence), 0);
+                return;
+            }
+        }
+        writeNow(caseId, correspondence);
+    }
+
+    /**
+     * Writes everything still buffered and stops accepting more; later additions are written immediately.
+     */
+    @Override
+    public void destroy() {
+        List<Long> caseIds;
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            caseIds = new ArrayList<>(pending.keySet());
+        }
+        timer.shutdownNow();
+        caseIds.forEach(caseId -> writer(caseId).execute(() -> flush(caseId)));
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            for (ExecutorService writer : writers) {
+                writer.shutdown();
+                if (!writer.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.error("Timed out writing buffered correspondence on shutdown");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (ExecutorService writer : writers) {
+                writer.shutdownNow();
+            }
+        }
+    }
+
+    private void buffer(Long caseId, List<Correspondence> correspondence, int attempts) {
+        Batch buffered = pending.get(caseId);
+        if (buffered == null) {
+            pending.put(caseId, new Batch(correspondence, attempts));
+            timer.schedule(() -> writer(caseId).execute(() -> flush(caseId)), window.toMillis(), TimeUnit.MILLISECONDS);
+        } else if (attempts > 0) {
+            correspondence.addAll(buffered.correspondence);
+            pending.put(caseId, new Batch(correspondence, attempts));
+        } else {
+            buffered.correspondence.addAll(correspondence);
+        }
+    }
+
+    private void flush(Long caseId) {
+        Batch batch;
+        synchronized (this) {
+            batch = pending.remove(caseId);
+        }
+        if (batch == null) {
+            return;
+        }
+        try {
+            write(caseId, batch.correspondence);
+        } catch (RuntimeException e) {
+            retry(caseId, batch, e);
+        }
+    }
+
+    private void retry(Long caseId, Batch batch, RuntimeException failure) {
+        int attempts = batch.attempts + 1;
+        synchronized (this) {
+            if (!shutdown && attempts < MAX_ATTEMPTS) {
+                log.warn("Failed to add {} correspondence to ccd case {}, attempt {} of {}", batch.correspondence.size(),
+                    caseId, attempts, MAX_ATTEMPTS, failure);
+                buffer(caseId, batch.correspondence, attempts);
+                return;
+            }
+        }
+        log.error("Failed to add {} correspondence to ccd case {} after {} attempts, giving up", batch.correspondence.size(),
+            caseId, attempts, failure);
+    }
+
+    private void writeNow(Long caseId, List<Correspondence> correspondence) {
+        try {
+            Future<?> written = writer(caseId).submit(() -> write(caseId, correspondence));
+            written.get(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            try {
+                write(caseId, correspondence);
+            } catch (RuntimeException writeFailure) {
+                log.error("Failed to add {} correspondence to ccd case {}", correspondence.size(), caseId, writeFailure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Failed to add {} correspondence to ccd case {}", correspondence.size(), caseId, e);
+        }
+    }
+
+    private void write(Long caseId, List<Correspondence> correspondence) {
+        Consumer<SscsCaseDetails> caseDataConsumer = caseDetails -> {
+            SscsCaseData caseData = caseDetails.getData();
+            caseData.setCorrespondence(CorrespondenceMerger.merge(caseData.getCorrespondence(), correspondence));
+        };
+
+        log.info("Adding {} correspondence to ccd case {} in one event", correspondence.size(), caseId);
+        synchronized (writerLocks[shard(caseId)]) {
+            updateCcdCaseService.updateCaseV2(caseId, EventType.NOTIFICATION_SENT.getCcdType(), "Notification sent",
+                "Notification sent via Gov Notify", idamService.getIdamTokens(), caseDataConsumer);
+        }
+    }
+
+    private ExecutorService writer(Long caseId) {
+        return writers[shard(caseId)];
+    }
+
+    private int shard(Long caseId) {
+        return Math.floorMod(caseId.hashCode(), writers.length);
+    }
+
+    private static final class Batch {
+        private final List<Correspondence> correspondence;
+        private final int attempts;
+
+        private Batch(List<Correspondence> correspondence, int attempts) {
+            this.correspondence = correspondence;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+
+/**
+ * Adds new correspondence to a case's correspondence list, newest first. The list on a case is already in that order,
+ * so the new entries are merged in with a single pass rather than copying and re-sorting the whole list, and the
+ * existing list is returned untouched when there is nothing to add.
+ *
+ * <p>The result is the same as appending and sorting with {@link Comparator#reverseOrder()}: existing entries stay
+ * ahead of new ones they compare equal to. A list that turns out not to be in order is sorted as before.
+ */
+public final class CorrespondenceMerger {
+
+    private CorrespondenceMerger() {
+    }
+
+    public static List<Correspondence> merge(List<Correspondence> existing, List<Correspondence> additions) {
+        if (existing == null || existing.isEmpty()) {
+            return sorted(List.of(), additions);
+        }
+        if (!isNewestFirst(existing)) {
+            return sorted(existing, additions);
+        }
+        if (additions.isEmpty()) {
+            return existing;
+        }
+
+        List<Correspondence> added = additions.size() == 1 ? additions : sorted(List.of(), additions);
+        List<Correspondence> merged = new ArrayList<>(existing.size() + added.size());
+        int i = 0;
+        int j = 0;
+        while (i < existing.size() && j < added.size()) {
+            if (existing.get(i).compareTo(added.get(j)) < 0) {
+                merged.add(added.get(j++));
+            } else {
+                merged.add(existing.get(i++));
+            }
+        }
+        merged.addAll(existing.subList(i, existing.size()));
+        merged.addAll(added.subList(j, added.size()));
+        return merged;
+    }
+
+    private static boolean isNewestFirst(List<Correspondence> correspondence) {
+        for (int i = 1; i < correspondence.size(); i++) {
+            if (correspondence.get(i - 1).compareTo(correspondence.get(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Correspondence> sorted(List<Correspondence> existing, List<Correspondence> additions) {
+        List<Correspondence> all = new ArrayList<>(existing.size() + additions.size());
+        all.addAll(existing);
+        all.addAll(additions);
+        all.sort(Comparator.reverseOrder());
+        return all;
+    }
+}
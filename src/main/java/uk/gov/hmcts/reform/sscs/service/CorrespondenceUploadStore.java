@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceDetails;
+
+/**
+ * Remembers the documents uploaded for recent notifications, so a retried notification event reuses them instead of
+ * rendering and uploading the same PDF again. A notification is identified by its case id, event type, sent on time,
+ * recipient and correspondence type, together with a SHA-256 digest of its content: the PDF when the caller supplies
+ * one, otherwise the body and subject it is rendered from. Two different documents sent for the same event in the same
+ * minute are therefore each uploaded. Concurrent retries of one notification wait for a single upload.
+ *
+ * <p>The store is local and bounded: entries expire after a while and the oldest are dropped when it is full, after
+ * which a retry uploads again as it would without the store. Failed or empty uploads are not remembered. It is only
+ * created when pdf.correspondence.idempotency.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(name = "pdf.correspondence.idempotency.enabled", havingValue = "true")
+@Slf4j
+public class CorrespondenceUploadStore {
+
+    private final Cache<String, List<Correspondence>> uploads;
+
+    @Autowired
+    public CorrespondenceUploadStore(@Value("${pdf.correspondence.idempotency.maximum-size:10000}") long maximumSize,
+                                     @Value("${pdf.correspondence.idempotency.expire-after:PT1H}") Duration expireAfter) {
+        this.uploads = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfter)
+            .build();
+    }
+
+    /**
+     * Returns the correspondence uploaded for this notification before, or runs the upload when there is none. The pdf
+     * is the document being uploaded, or null when the upload renders it from the correspondence.
+     */
+    public List<Correspondence> getOrUpload(String caseId, Correspondence correspondence, @Nullable byte[] pdf,
+                                            Supplier<List<Correspondence>> upload) {
+        String key = key(caseId, correspondence, pdf);
+        try {
+            List<Correspondence> uploaded = uploads.get(key, upload::get);
+            if (uploaded.isEmpty()) {
+                uploads.invalidate(key);
+            }
+            return uploaded;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static String key(String caseId, Correspondence correspondence, @Nullable byte[] pdf) {
+        CorrespondenceDetails details = correspondence.getValue();
+        return String.join("|", caseId, nullToEmpty(details.getEventType()), nullToEmpty(details.getSentOn()),
+            nullToEmpty(details.getTo()), String.valueOf(details.getCorrespondenceType()), digest(details, pdf));
+    }
+
+    private static String digest(CorrespondenceDetails details, @Nullable byte[] pdf) {
+        if (pdf != null) {
+            return Hashing.sha256().hashBytes(pdf).toString();
+        }
+        return Hashing.sha256().newHasher()
+            .putString(nullToEmpty(details.getSubject()), StandardCharsets.UTF_8)
+            .putByte((byte) 0)
+            .putString(nullToEmpty(details.getBody()), StandardCharsets.UTF_8)
+            .hash().toString();
+    }
+}
@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.pebbletemplates.pebble.PebbleEngine;
+import io.pebbletemplates.pebble.loader.ClasspathLoader;
+import io.pebbletemplates.pebble.template.PebbleTemplate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+/**
+ * Renders Pebble HTML templates to PDF in process with openhtmltopdf, for the templates listed in
+ * {@code pdf.local-renderer.templates}; everything else still goes to the remote PDF service. Templates are compiled
+ * once and cached by the Pebble engine.
+ *
+ * <p>Placeholders are converted to plain maps and lists through Jackson first, as the remote service only ever sees
+ * them as JSON, so a template renders the same values either way. Only the standard PDF fonts are available, so
+ * templates needing other fonts or characters outside them, such as the Welsh templates, should stay remote.
+ */
+@Component
+@ConditionalOnProperty("pdf.local-renderer.templates")
+@Slf4j
+public class LocalHtmlPdfRenderer {
+
+    private static final TypeReference<Map<String, Object>> PLACEHOLDERS_TYPE = new TypeReference<>() {};
+
+    private final Set<String> templates;
+    private final PebbleEngine pebbleEngine;
+    private final JsonMapper placeholderMapper;
+
+    @Autowired
+    public LocalHtmlPdfRenderer(@Value("${pdf.local-renderer.templates}") String[] templates) {
+        this.templates = Set.of(templates);
+        this.pebbleEngine = new PebbleEngine.Builder()
+            .loader(new ClasspathLoader())
+            .strictVariables(false)
+            .build();
+        this.placeholderMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new Jdk8Module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    public boolean renders(String templatePath) {
+        return templates.contains(templatePath);
+    }
+
+    public byte[] generatePdf(String templatePath, Map<String, Object> placeholders) {
+        long start = System.nanoTime();
+        try {
+            PebbleTemplate template = pebbleEngine.getTemplate(stripLeadingSlash(templatePath));
+            StringWriter html = new StringWriter();
+            template.evaluate(html, placeholderMapper.convertValue(placeholders, PLACEHOLDERS_TYPE));
+
+            URL baseUrl = getClass().getResource(templatePath);
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+            new PdfRendererBuilder()
+                .useFastMode()
+                .withW3cDocument(new W3CDom().fromJsoup(Jsoup.parse(html.toString())), baseUrl == null ? null : baseUrl.toExternalForm())
+                .toStream(pdf)
+                .run();
+
+            log.info("Rendered template {} locally in {}ms", templatePath, (System.nanoTime() - start) / 1_000_000);
+            return pdf.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new PdfGenerationException("Failed to render template " + templatePath + " locally", e);
+        }
+    }
+
+    private static String stripLeadingSlash(String templatePath) {
+        return templatePath.startsWith("/") ? templatePath.substring(1) : templatePath;
+    }
+}
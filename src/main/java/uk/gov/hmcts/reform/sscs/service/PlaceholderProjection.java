@@ -0,0 +1,194 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cuts a placeholder object down to the properties a Pebble template actually reads, so only those are serialised
+ * and sent with the render. The template's {@code {{ }}} and {@code {% %}} tags are scanned once for property paths
+ * under the placeholder's name; the projection is a map holding those paths, with the value at the end of each path
+ * kept as it is. Property names and inclusion follow Jackson, so the projection serialises to a subset of the JSON
+ * the full object would.
+ *
+ * <p>Whenever a template uses the placeholder in a way the scan cannot follow, such as passing it whole, indexing
+ * it or including other templates, the full object is used instead.
+ */
+public final class PlaceholderProjection {
+
+    private static final Pattern TAG = Pattern.compile("\\{\\{(.*?)}}|\\{%(.*?)%}", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*'|\"[^\"]*\"");
+    private static final Pattern PROPERTY_NAME = Pattern.compile("\\.\\s*([A-Za-z_][A-Za-z0-9_]*)");
+    private static final Set<String> UNSAFE_TAGS = Set.of("include", "extends", "import", "from", "embed", "macro", "block");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<Class<?>, BeanDescription> DESCRIPTIONS = new ConcurrentHashMap<>();
+
+    private final Path paths;
+
+    private PlaceholderProjection(Path paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * Scans the template for the properties of the placeholder called {@code name}.
+     */
+    public static PlaceholderProjection forTemplate(String template, String name) {
+        Pattern reference = Pattern.compile("(?<![\\w.])" + Pattern.quote(name) + "\\b");
+        Path root = new Path();
+
+        Matcher tags = TAG.matcher(template);
+        while (tags.find()) {
+            boolean statement = tags.group(2) != null;
+            String expression = STRING_LITERAL.matcher(statement ? tags.group(2) : tags.group(1)).replaceAll("''");
+            if (statement && UNSAFE_TAGS.contains(firstWord(expression))) {
+                return full();
+            }
+
+            Matcher references = reference.matcher(expression);
+            while (references.find()) {
+                Path path = root;
+                int end = references.end();
+                Matcher property = PROPERTY_NAME.matcher(expression);
+                while (property.find(end) && property.start() == end) {
+                    path = path.child(property.group(1));
+                    end = property.end();
+                }
+                String rest = expression.substring(end).stripLeading();
+                if (path == root || rest.startsWith("[") || rest.startsWith("(")) {
+                    return full();
+                }
+                path.leaf = true;
+            }
+        }
+        return new PlaceholderProjection(root);
+    }
+
+    public static PlaceholderProjection full() {
+        return new PlaceholderProjection(null);
+    }
+
+    public boolean isFull() {
+        return paths == null;
+    }
+
+    public Object project(Object value) {
+        return isFull() ? value : project(value, paths);
+    }
+
+    private static Object project(Object value, Path path) {
+        if (path.leaf || !isBean(value)) {
+            return value;
+        }
+        BeanDescription description = DESCRIPTIONS.computeIfAbsent(value.getClass(),
+            type -> MAPPER.getSerializationConfig().introspect(MAPPER.constructType(type)));
+        if (description.findAnyGetter() != null || description.findJsonValueAccessor() != null
+            || description.getClassInfo().hasAnnotation(JsonSerialize.class)) {
+            return value;
+        }
+
+        Map<String, Object> projection = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> child : path.children.entrySet()) {
+            BeanPropertyDefinition property = findProperty(description, child.getKey());
+            if (property == null || property.getAccessor() == null || property.getAccessor().hasAnnotation(JsonUnwrapped.class)) {
+                return value;
+            }
+            Object childValue;
+            try {
+                AnnotatedMember accessor = property.getAccessor();
+                accessor.fixAccess(true);
+                childValue = accessor.getValue(value);
+            } catch (RuntimeException e) {
+                return value;
+            }
+            JsonInclude.Include inclusion = inclusion(description, property);
+            if (inclusion == null) {
+                return value;
+            }
+            if (isIncluded(childValue, inclusion)) {
+                projection.put(child.getKey(), project(childValue, child.getValue()));
+            }
+        }
+        return projection;
+    }
+
+    private static BeanPropertyDefinition findProperty(BeanDescription description, String name) {
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.getName().equals(name) && property.couldSerialize()) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the property's inclusion, or null when it is one the projection does not reproduce.
+     */
+    private static JsonInclude.Include inclusion(BeanDescription description, BeanPropertyDefinition property) {
+        SerializationConfig config = MAPPER.getSerializationConfig();
+        JsonInclude.Value inclusion = description
+            .findPropertyInclusion(config.getDefaultPropertyInclusion(description.getBeanClass()))
+            .withOverrides(property.findInclusion());
+        JsonInclude.Include include = inclusion.getValueInclusion();
+        return include == JsonInclude.Include.NON_DEFAULT || include == JsonInclude.Include.CUSTOM ? null : include;
+    }
+
+    private static boolean isIncluded(Object value, JsonInclude.Include inclusion) {
+        if (value == null) {
+            return false;
+        }
+        if (inclusion == JsonInclude.Include.NON_ABSENT || inclusion == JsonInclude.Include.NON_EMPTY) {
+            if (value instanceof Optional && ((Optional<?>) value).isEmpty()) {
+                return false;
+            }
+        }
+        if (inclusion == JsonInclude.Include.NON_EMPTY) {
+            return !(value instanceof CharSequence && ((CharSequence) value).length() == 0
+                || value instanceof Collection && ((Collection<?>) value).isEmpty()
+                || value instanceof Map && ((Map<?, ?>) value).isEmpty()
+                || value.getClass().isArray() && Array.getLength(value) == 0);
+        }
+        return true;
+    }
+
+    private static boolean isBean(Object value) {
+        if (value == null || value instanceof JsonNode) {
+            return false;
+        }
+        Class<?> type = value.getClass();
+        return !type.isArray() && !type.isEnum() && !type.isPrimitive() && !type.getName().startsWith("java.");
+    }
+
+    private static String firstWord(String statement) {
+        String trimmed = statement.strip();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return trimmed.substring(0, end);
+    }
+
+    private static final class Path {
+        private final Map<String, Path> children = new LinkedHashMap<>();
+        private boolean leaf;
+
+        private Path child(String name) {
+            return children.computeIfAbsent(name, key -> new Path());
+        }
+    }
+}
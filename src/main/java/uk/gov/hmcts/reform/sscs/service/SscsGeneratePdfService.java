@@ -2,47 +2,123 @@ package uk.gov.hmcts.reform.sscs.service;
 
 import static uk.gov.hmcts.reform.sscs.config.PdfTemplateConstants.*;
 
-import java.io.IOException;
-import java.io.InputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pdf.service.client.PDFServiceClient;
 import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.domain.pdf.BilingualPdf;
 import uk.gov.hmcts.reform.sscs.domain.pdf.PdfWrapper;
-import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
 
 @Service
 @Slf4j
-public class SscsGeneratePdfService {
+public class SscsGeneratePdfService implements DisposableBean {
     private static final String RPC = "rpc_";
+    private static final String PDF_WRAPPER = "PdfWrapper";
+    private static final int DEFAULT_BILINGUAL_PARALLELISM = 4;
     private PDFServiceClient pdfServiceClient;
+    private TemplateRegistry templateRegistry;
+    private LocalHtmlPdfRenderer localHtmlPdfRenderer;
+    private boolean projectPlaceholders;
+    private final Map<String, PlaceholderProjection> projections = new ConcurrentHashMap<>();
+    private final ExecutorService bilingualExecutor;
 
-    @Autowired
     public SscsGeneratePdfService(PDFServiceClient pdfServiceClient) {
+        this(pdfServiceClient, new TemplateRegistry());
+    }
+
+    public SscsGeneratePdfService(PDFServiceClient pdfServiceClient, TemplateRegistry templateRegistry) {
+        this(pdfServiceClient, templateRegistry, null);
+    }
+
+    public SscsGeneratePdfService(PDFServiceClient pdfServiceClient, TemplateRegistry templateRegistry,
+                                  LocalHtmlPdfRenderer localHtmlPdfRenderer) {
+        this(pdfServiceClient, templateRegistry, localHtmlPdfRenderer, false, DEFAULT_BILINGUAL_PARALLELISM);
+    }
+
+    /**
+     * With projectPlaceholders set, the PdfWrapper is cut down to the properties the template reads before it is
+     * sent, see {@link PlaceholderProjection}. At most bilingualParallelism Welsh renders run alongside their
+     * English ones; beyond that the Welsh render runs on the caller's thread, before the English one starts. The
+     * same happens once the service has been destroyed and its threads shut down.
+     */
+    @Autowired
+    public SscsGeneratePdfService(PDFServiceClient pdfServiceClient, TemplateRegistry templateRegistry,
+                                  @Nullable LocalHtmlPdfRenderer localHtmlPdfRenderer,
+                                  @Value("${pdf.templates.project-placeholders:false}") boolean projectPlaceholders,
+                                  @Value("${pdf.bilingual.parallelism:4}") int bilingualParallelism) {
         this.pdfServiceClient = pdfServiceClient;
+        this.templateRegistry = templateRegistry;
+        this.localHtmlPdfRenderer = localHtmlPdfRenderer;
+        this.projectPlaceholders = projectPlaceholders;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(bilingualParallelism, bilingualParallelism, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ThreadFactoryBuilder().setNameFormat("bilingual-pdf-%d").setDaemon(true).build(),
+            (task, pool) -> task.run());
+        executor.allowCoreThreadTimeOut(true);
+        this.bilingualExecutor = executor;
+    }
+
+    @Override
+    public void destroy() {
+        bilingualExecutor.shutdown();
     }
 
     public byte[] generatePdf(String templatePath, SscsCaseData sscsCaseData, Long caseDetailsId, Map<String, String> notificationPlaceholders) {
-        byte[] template;
+        PdfWrapper pdfWrapper = pdfWrapper(sscsCaseData, caseDetailsId);
+
+        return render(templatePath, placeholders(templatePath, pdfWrapper, notificationPlaceholders));
+    }
+
+    /**
+     * Renders the English and Welsh versions of a document at the same time. The PdfWrapper and the shared
+     * placeholders are built once; welshPlaceholders are added on top of them for the Welsh template only.
+     */
+    public BilingualPdf generateBilingualPdf(String englishTemplatePath, String welshTemplatePath, SscsCaseData sscsCaseData,
+                                             Long caseDetailsId, Map<String, String> notificationPlaceholders,
+                                             Map<String, Object> welshPlaceholders) {
+        PdfWrapper pdfWrapper = pdfWrapper(sscsCaseData, caseDetailsId);
+
+        Map<String, Object> welsh = placeholders(welshTemplatePath, pdfWrapper, notificationPlaceholders);
+        welsh.putAll(welshPlaceholders);
+        CompletableFuture<byte[]> welshPdf = CompletableFuture.supplyAsync(() -> render(welshTemplatePath, welsh), bilingualExecutor);
+
+        byte[] englishPdf = render(englishTemplatePath, placeholders(englishTemplatePath, pdfWrapper, notificationPlaceholders));
         try {
-            template = getTemplate(templatePath);
-        } catch (IOException e) {
-            throw new PdfGenerationException("Error getting template", e);
+            return new BilingualPdf(englishPdf, welshPdf.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+    }
 
-        PdfWrapper pdfWrapper = PdfWrapper.builder()
+    private PdfWrapper pdfWrapper(SscsCaseData sscsCaseData, Long caseDetailsId) {
+        return PdfWrapper.builder()
             .sscsCaseData(sscsCaseData)
             .ccdCaseId(caseDetailsId)
             .currentDate(LocalDate.now())
             .build();
+    }
 
+    private Map<String, Object> placeholders(String templatePath, PdfWrapper pdfWrapper, Map<String, String> notificationPlaceholders) {
         Map<String, Object> placeholders = new HashMap<>(notificationPlaceholders);
-        placeholders.put("PdfWrapper", pdfWrapper);
+        placeholders.put(PDF_WRAPPER, projectPlaceholders ? projection(templatePath).project(pdfWrapper) : pdfWrapper);
         placeholders.put(RPC + REGIONAL_OFFICE_NAME_LITERAL, notificationPlaceholders.get(REGIONAL_OFFICE_NAME_LITERAL));
         placeholders.put(RPC + SUPPORT_CENTRE_NAME_LITERAL, notificationPlaceholders.get(SUPPORT_CENTRE_NAME_LITERAL));
         placeholders.put(RPC + ADDRESS_LINE_LITERAL, notificationPlaceholders.get(ADDRESS_LINE_LITERAL));
@@ -50,12 +126,18 @@ public class SscsGeneratePdfService {
         placeholders.put(RPC + COUNTY_LITERAL, notificationPlaceholders.get(COUNTY_LITERAL));
         placeholders.put(RPC + POSTCODE_LITERAL, notificationPlaceholders.get(POSTCODE_LITERAL));
         placeholders.put(RPC + PHONE_NUMBER, notificationPlaceholders.get(PHONE_NUMBER));
+        return placeholders;
+    }
 
-        return pdfServiceClient.generateFromHtml(template, placeholders);
+    private byte[] render(String templatePath, Map<String, Object> placeholders) {
+        if (localHtmlPdfRenderer != null && localHtmlPdfRenderer.renders(templatePath)) {
+            return localHtmlPdfRenderer.generatePdf(templatePath, placeholders);
+        }
+        return pdfServiceClient.generateFromHtml(templateRegistry.getTemplate(templatePath), placeholders);
     }
 
-    private byte[] getTemplate(String templatePath) throws IOException {
-        InputStream in = getClass().getResourceAsStream(templatePath);
-        return IOUtils.toByteArray(in);
+    private PlaceholderProjection projection(String templatePath) {
+        return projections.computeIfAbsent(templatePath, path ->
+            PlaceholderProjection.forTemplate(new String(templateRegistry.getTemplate(path), StandardCharsets.UTF_8), PDF_WRAPPER));
     }
 }
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+/**
+ * Loads classpath templates once and shares them, rather than reading them from the classpath on every render.
+ * Templates listed as required are loaded when the registry is created, so a missing one fails startup instead of
+ * the first render that needs it. Anything else is loaded on first use into a bounded cache.
+ */
+@Component
+@Slf4j
+public class TemplateRegistry {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 50;
+
+    private final LoadingCache<String, byte[]> templates;
+
+    private final boolean compact;
+
+    public TemplateRegistry() {
+        this(DEFAULT_MAXIMUM_SIZE, new String[0]);
+    }
+
+    public TemplateRegistry(long maximumSize, String[] requiredTemplates) {
+        this(maximumSize, requiredTemplates, false);
+    }
+
+    /**
+     * With compact set, templates are shrunk by {@link TemplateCompactor} as they are loaded.
+     */
+    @Autowired
+    public TemplateRegistry(@Value("${pdf.templates.cache.maximum-size:50}") long maximumSize,
+                            @Value("${pdf.templates.required:}") String[] requiredTemplates,
+                            @Value("${pdf.templates.compact:false}") boolean compact) {
+        this.compact = compact;
+        this.templates = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build(new CacheLoader<>() {
+                @Override
+                public byte[] load(String templatePath) throws IOException {
+                    return loadTemplate(templatePath);
+                }
+            });
+
+        for (String templatePath : requiredTemplates) {
+            try {
+                templates.get(templatePath);
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                throw new IllegalStateException("Required template " + templatePath + " could not be loaded", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns a read-only view of the template.
+     */
+    public ByteBuffer getTemplateView(String templatePath) {
+        return ByteBuffer.wrap(getTemplate(templatePath)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the shared template bytes, for callers in this package that hand them straight to a client needing an
+     * array. They must not be modified.
+     */
+    byte[] getTemplate(String templatePath) {
+        try {
+            return templates.get(templatePath);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new PdfGenerationException("Error getting template", e.getCause());
+        }
+    }
+
+    private byte[] loadTemplate(String templatePath) throws IOException {
+        try (InputStream in = TemplateRegistry.class.getResourceAsStream(templatePath)) {
+            if (in == null) {
+                throw new FileNotFoundException("Template " + templatePath + " not found on the classpath");
+            }
+            byte[] template = IOUtils.toByteArray(in);
+            if (template.length == 0) {
+                throw new IOException("Template " + templatePath + " is empty");
+            }
+            if (compact) {
+                byte[] compacted = TemplateCompactor.compact(template);
+                log.info("Loaded template {} compacted from {} to {} bytes", templatePath, template.length, compacted.length);
+                return compacted;
+            }
+            log.info("Loaded template {} ({} bytes)", templatePath, template.length);
+            return template;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfGenerationService;
+
+/**
+ * Renders each configured template once with synthetic placeholders at startup, so the first real render after a
+ * deploy does not pay for template compilation, connection setup and class loading. Runs synchronously before the
+ * application reports itself ready to accept traffic. A template that fails to warm up is logged, and only fails
+ * startup when configured to.
+ */
+@Slf4j
+public class TemplateWarmUp implements ApplicationRunner {
+
+    private static final Long WARM_UP_CASE_ID = 0L;
+
+    private final PdfGenerationService pdfGenerationService;
+    private final SscsGeneratePdfService sscsGeneratePdfService;
+    private final List<String> docmosisTemplates;
+    private final List<String> htmlTemplates;
+    private final boolean failOnError;
+
+    public TemplateWarmUp(PdfGenerationService pdfGenerationService,
+                          SscsGeneratePdfService sscsGeneratePdfService,
+                          List<String> docmosisTemplates,
+                          List<String> htmlTemplates,
+                          boolean failOnError) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.sscsGeneratePdfService = sscsGeneratePdfService;
+        this.docmosisTemplates = docmosisTemplates;
+        this.htmlTemplates = htmlTemplates;
+        this.failOnError = failOnError;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        int failures = 0;
+
+        if (pdfGenerationService != null) {
+            for (String templateName : docmosisTemplates) {
+                failures += warmUp("Docmosis", templateName, () -> pdfGenerationService.generatePdf(DocumentHolder.builder()
+                        .template(new Template(templateName, "warm-up"))
+                        .placeholders(Map.of())
+                        .build()));
+            }
+        }
+        if (sscsGeneratePdfService != null) {
+            for (String templatePath : htmlTemplates) {
+                failures += warmUp("HTML", templatePath, () -> sscsGeneratePdfService.generatePdf(templatePath,
+                        SscsCaseData.builder().build(), WARM_UP_CASE_ID, Map.of()));
+            }
+        }
+
+        log.info("Template warm-up finished in {}ms with {} failure(s)", elapsedMillis(start), failures);
+        if (failures > 0 && failOnError) {
+            throw new IllegalStateException("Template warm-up failed for " + failures + " template(s)");
+        }
+    }
+
+    private int warmUp(String engine, String template, Runnable render) {
+        long start = System.nanoTime();
+        try {
+            render.run();
+            log.info("Warmed up {} template {} in {}ms", engine, template, elapsedMillis(start));
+            return 0;
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm up {} template {} after {}ms", engine, template, elapsedMillis(start), e);
+            return 1;
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Additive-increase/multiplicative-decrease limit on the number of concurrent calls. The limit grows by roughly
+ * one for every full limit's worth of fast calls and is cut by the backoff ratio whenever a call fails or takes
+ * longer than the latency threshold.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdMillis) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.limit = initialLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= getLimit()) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire()} and adjusts the limit from the outcome of the call.
+     *
+     * @param rttNanos   - time taken by the call
+     * @param successful - whether the call completed without error
+     */
+    public synchronized void release(long rttNanos, boolean successful) {
+        inFlight--;
+        if (!successful || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= getLimit()) {
+            // only grow while the current limit is actually being used
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Releases a permit without adjusting the limit, for calls whose outcome says nothing about the downstream
+     * service.
+     */
+    public synchronized void releaseIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
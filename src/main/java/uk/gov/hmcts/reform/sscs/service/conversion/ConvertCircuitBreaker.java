@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Opens after a run of consecutive failures, rejects calls while open and lets a single trial call through once
+ * the open duration has passed. A successful trial closes the breaker, a failed one opens it again.
+ */
+public class ConvertCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInProgress;
+
+    public ConvertCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    ConvertCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInProgress) {
+                return false;
+            }
+            trialInProgress = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInProgress = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInProgress = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    /**
+     * Gives back a half open trial that was allowed but never attempted.
+     */
+    public synchronized void releaseTrial() {
+        trialInProgress = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import java.io.IOException;
+
+/**
+ * Docmosis rejected a conversion with a 4xx response, because of the document or request rather than the state of
+ * Docmosis itself. {@link DocmosisConvertGuard} does not count these against Docmosis. 408 Request Timeout and 429
+ * Too Many Requests are not client errors in this sense, as they mean Docmosis is overloaded.
+ */
+public class DocmosisClientErrorException extends IOException {
+
+    private final int status;
+
+    public DocmosisClientErrorException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static boolean isClientError(int status) {
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
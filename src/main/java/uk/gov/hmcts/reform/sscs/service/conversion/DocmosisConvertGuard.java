@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.exception.DocmosisUnavailableException;
+
+/**
+ * Wraps calls to the Docmosis convert endpoint with an adaptive concurrency limit and a circuit breaker, so that
+ * when Docmosis slows down callers are rejected straight away with a {@link DocmosisUnavailableException} instead of
+ * each holding a thread for the full read timeout.
+ */
+@Slf4j
+@Component
+public class DocmosisConvertGuard {
+
+    @FunctionalInterface
+    public interface ConvertCall<T> {
+        T call() throws IOException;
+    }
+
+    private final AimdConcurrencyLimiter limiter;
+    private final ConvertCircuitBreaker circuitBreaker;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    @Autowired
+    public DocmosisConvertGuard(@Value("${docmosis.convert.limiter.initial-limit:10}") int initialLimit,
+                                @Value("${docmosis.convert.limiter.min-limit:1}") int minLimit,
+                                @Value("${docmosis.convert.limiter.max-limit:64}") int maxLimit,
+                                @Value("${docmosis.convert.limiter.backoff-ratio:0.9}") double backoffRatio,
+                                @Value("${docmosis.convert.limiter.latency-threshold-ms:10000}") long latencyThresholdMillis,
+                                @Value("${docmosis.convert.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${docmosis.convert.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdMillis),
+                new ConvertCircuitBreaker(failureThreshold, Duration.ofMillis(openDurationMillis)),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public DocmosisConvertGuard(AimdConcurrencyLimiter limiter, ConvertCircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+
+        Gauge.builder("docmosis.convert.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for Docmosis conversions")
+                .register(meterRegistry);
+        Gauge.builder("docmosis.convert.in.flight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Docmosis conversions currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("docmosis.convert.circuit.state", circuitBreaker, b -> b.getState().ordinal())
+                .description("Docmosis convert circuit breaker state (0 closed, 1 open, 2 half open)")
+                .register(meterRegistry);
+        limitRejections = Counter.builder("docmosis.convert.rejected").tag("reason", "limit").register(meterRegistry);
+        circuitRejections = Counter.builder("docmosis.convert.rejected").tag("reason", "circuit_open").register(meterRegistry);
+    }
+
+    /**
+     * A guard that never rejects, for converters created outside of Spring.
+     */
+    public static DocmosisConvertGuard unbounded() {
+        return new DocmosisConvertGuard(new AimdConcurrencyLimiter(Integer.MAX_VALUE - 1, 1, Integer.MAX_VALUE - 1, 0.9, Long.MAX_VALUE / 1_000_000),
+                new ConvertCircuitBreaker(Integer.MAX_VALUE, Duration.ZERO), new SimpleMeterRegistry());
+    }
+
+    public <T> T execute(ConvertCall<T> call) throws IOException {
+        if (!circuitBreaker.allowRequest()) {
+            circuitRejections.increment();
+            throw new DocmosisUnavailableException("Docmosis convert circuit breaker is open");
+        }
+        if (!limiter.tryAcquire()) {
+            limitRejections.increment();
+            // the breaker may have let this through as its half open trial
+            circuitBreaker.releaseTrial();
+            throw new DocmosisUnavailableException(String.format("Docmosis convert concurrency limit of %d reached", limiter.getLimit()));
+        }
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.IGNORED;
+        try {
+            T result = call.call();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (DocmosisClientErrorException e) {
+            throw e;
+        } catch (IOException e) {
+            outcome = Outcome.FAILURE;
+            throw e;
+        } finally {
+            record(outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Only server errors, timeouts, 408 and 429 responses and connection failures count against Docmosis. Other
+     * client errors, such as a malformed or unsupported upload, and unexpected exceptions give back their permit
+     * without changing the limit or the breaker, so bad documents cannot shut conversions off for everyone.
+     */
+    private void record(Outcome outcome, long rttNanos) {
+        switch (outcome) {
+            case SUCCESS:
+                limiter.release(rttNanos, true);
+                circuitBreaker.recordSuccess();
+                break;
+            case FAILURE:
+                limiter.release(rttNanos, false);
+                circuitBreaker.recordFailure();
+                break;
+            default:
+                limiter.releaseIgnored();
+                circuitBreaker.releaseTrial();
+                break;
+        }
+    }
+
+    private enum Outcome { SUCCESS, FAILURE, IGNORED }
+}
@@ -2,28 +2,27 @@ package uk.gov.hmcts.reform.sscs.service.conversion;
 
 import com.google.common.collect.Lists;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.OkHttpClient;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.xml.sax.SAXException;
 
 @Slf4j
 @Component
-public class RtfConverter extends WordDocumentConverter implements FileToPdfConverter {
+public class RtfConverter implements FileToPdfConverter {
+
+    private final TextConverter textConverter;
 
     @Autowired
-    public RtfConverter(OkHttpClient httpClient,
-                                 @Value("${docmosis.convert.endpoint}") String endpoint,
-                                 @Value("${docmosis.accessKey}") String accessKey) {
-        super(httpClient, endpoint, accessKey);
+    public RtfConverter(TextConverter textConverter) {
+        this.textConverter = textConverter;
     }
 
     public List<String> accepts() {
@@ -45,11 +44,11 @@ public class RtfConverter extends WordDocumentConverter implements FileToPdfConv
             File textFile = File.createTempFile(FilenameUtils.getBaseName(file.getName()), ".txt");
             textFile.deleteOnExit();
 
-            FileWriter writer = new FileWriter(textFile);
-            writer.write(content);
-            writer.close();
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(textFile), StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
 
-            return super.convert(textFile);
+            return textConverter.convert(textFile);
         } catch (TikaException e) {
             throw new IOException(e);
         } catch (SAXException e) {
@@ -0,0 +1,173 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import com.google.common.collect.Lists;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lays out plain text onto A4 pages locally using pdfbox, so plain text uploads do not need a round trip to
+ * Docmosis. The Liberation Sans font shipped inside pdfbox is embedded (subset) so the output renders the same
+ * everywhere.
+ */
+@Component
+public class TextConverter implements FileToPdfConverter {
+    private static final String FONT_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+    private static final float MARGIN = 50;
+    private static final float FONT_SIZE = 11;
+    private static final float LEADING = FONT_SIZE * 1.2f;
+    private static final int TAB_WIDTH = 4;
+    private static final char REPLACEMENT = '?';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    @Override
+    public List<String> accepts() {
+        return Lists.newArrayList(
+                "text/plain"
+        );
+    }
+
+    @Override
+    public File convert(File file) throws IOException {
+        // malformed input is replaced rather than rejected, as uploads are not always valid UTF-8
+        String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+
+        File outputFile = File.createTempFile(FilenameUtils.getBaseName(file.getName()), ".pdf");
+        outputFile.deleteOnExit();
+
+        try (PDDocument doc = new PDDocument()) {
+            render(doc, text);
+            doc.save(outputFile);
+        }
+        return outputFile;
+    }
+
+    private void render(PDDocument doc, String text) throws IOException {
+        PDFont font = loadFont(doc);
+        float width = PDRectangle.A4.getWidth() - (MARGIN * 2);
+        float top = PDRectangle.A4.getHeight() - MARGIN;
+
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\\r\\n|\\r|\\n", -1)) {
+            lines.addAll(wrap(sanitise(font, paragraph), font, width));
+        }
+
+        PDPageContentStream contentStream = null;
+        float ypos = MARGIN;
+        try {
+            for (String line : lines) {
+                if (contentStream == null || ypos - LEADING < MARGIN) {
+                    if (contentStream != null) {
+                        contentStream.endText();
+                        contentStream.close();
+                    }
+                    PDPage page = new PDPage(PDRectangle.A4);
+                    doc.addPage(page);
+                    contentStream = new PDPageContentStream(doc, page);
+                    contentStream.beginText();
+                    contentStream.setFont(font, FONT_SIZE);
+                    contentStream.setLeading(LEADING);
+                    contentStream.newLineAtOffset(MARGIN, top - FONT_SIZE);
+                    ypos = top;
+                } else {
+                    contentStream.newLine();
+                }
+                contentStream.showText(line);
+                ypos -= LEADING;
+            }
+        } finally {
+            if (contentStream != null) {
+                contentStream.endText();
+                contentStream.close();
+            }
+        }
+
+        // a valid PDF document requires at least one page
+        if (doc.getNumberOfPages() == 0) {
+            doc.addPage(new PDPage(PDRectangle.A4));
+        }
+    }
+
+    private PDFont loadFont(PDDocument doc) throws IOException {
+        try (InputStream in = PDDocument.class.getResourceAsStream(FONT_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Unable to load font " + FONT_RESOURCE);
+            }
+            return PDType0Font.load(doc, in);
+        }
+    }
+
+    private List<String> wrap(String paragraph, PDFont font, float maxWidth) throws IOException {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+
+        for (String word : paragraph.split("(?<= )")) {
+            if (textWidth(font, line + word.stripTrailing()) <= maxWidth) {
+                line.append(word);
+                continue;
+            }
+            if (line.length() > 0) {
+                lines.add(line.toString().stripTrailing());
+                line.setLength(0);
+            }
+            // a single word wider than the page is broken across lines
+            String remaining = word;
+            while (textWidth(font, remaining.stripTrailing()) > maxWidth) {
+                int end = fittingLength(font, remaining, maxWidth);
+                lines.add(remaining.substring(0, end));
+                remaining = remaining.substring(end);
+            }
+            line.append(remaining);
+        }
+        lines.add(line.toString().stripTrailing());
+        return lines;
+    }
+
+    private int fittingLength(PDFont font, String word, float maxWidth) throws IOException {
+        int end = 1;
+        while (end < word.length() && textWidth(font, word.substring(0, end + 1)) <= maxWidth) {
+            end++;
+        }
+        return end;
+    }
+
+    private float textWidth(PDFont font, String text) throws IOException {
+        return font.getStringWidth(text) / 1000 * FONT_SIZE;
+    }
+
+    private String sanitise(PDFont font, String paragraph) throws IOException {
+        StringBuilder sb = new StringBuilder(paragraph.length());
+        int i = 0;
+        while (i < paragraph.length()) {
+            int codePoint = paragraph.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == '\t') {
+                sb.append(" ".repeat(TAB_WIDTH));
+            } else if (!Character.isISOControl(codePoint) && codePoint != BYTE_ORDER_MARK) {
+                sb.appendCodePoint(hasGlyph(font, codePoint) ? codePoint : REPLACEMENT);
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean hasGlyph(PDFont font, int codePoint) throws IOException {
+        try {
+            font.encode(new String(Character.toChars(codePoint)));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.docmosis.config.DocumentConversionHttpClient;
 
 @Slf4j
 @Component
@@ -20,20 +21,33 @@ public class WordDocumentConverter implements FileToPdfConverter {
     private final String endpoint;
     private final String accessKey;
     private final OkHttpClient httpClient;
+    private final DocmosisConvertGuard convertGuard;
+
+    public WordDocumentConverter(OkHttpClient httpClient, String endpoint, String accessKey) {
+        this(httpClient, endpoint, accessKey, DocmosisConvertGuard.unbounded());
+    }
 
     @Autowired
-    public WordDocumentConverter(OkHttpClient httpClient,
+    public WordDocumentConverter(DocumentConversionHttpClient httpClient,
                                  @Value("${docmosis.convert.endpoint}") String endpoint,
-                                 @Value("${docmosis.accessKey}") String accessKey) {
+                                 @Value("${docmosis.accessKey}") String accessKey,
+                                 DocmosisConvertGuard convertGuard) {
+        this(httpClient.getHttpClient(), endpoint, accessKey, convertGuard);
+    }
+
+    public WordDocumentConverter(OkHttpClient httpClient,
+                                 String endpoint,
+                                 String accessKey,
+                                 DocmosisConvertGuard convertGuard) {
         this.httpClient = httpClient;
         this.endpoint = endpoint;
         this.accessKey = accessKey;
+        this.convertGuard = convertGuard;
     }
 
     @Override
     public List<String> accepts() {
         return Lists.newArrayList(
-                "text/plain",
                 "application/msword",
                 "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
                 "application/x-tika-ooxml",
@@ -60,16 +74,22 @@ public class WordDocumentConverter implements FileToPdfConverter {
                 .method("POST", requestBody)
                 .build();
 
-        final Response response = httpClient.newCall(request).execute();
-
-        if (!response.isSuccessful()) {
-            throw new IOException(String.format("Docmosis error (%s) converting: %s", response.code(), file.getName()));
-        }
+        return convertGuard.execute(() -> {
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    String message = String.format("Docmosis error (%s) converting: %s", response.code(), file.getName());
+                    if (DocmosisClientErrorException.isClientError(response.code())) {
+                        throw new DocmosisClientErrorException(response.code(), message);
+                    }
+                    throw new IOException(message);
+                }
 
-        final File convertedFile = File.createTempFile("stitch-conversion", ".pdf");
+                final File convertedFile = File.createTempFile("stitch-conversion", ".pdf");
 
-        Files.write(convertedFile.toPath(), Objects.requireNonNull(response.body()).bytes());
+                Files.write(convertedFile.toPath(), Objects.requireNonNull(response.body()).bytes());
 
-        return convertedFile;
+                return convertedFile;
+            }
+        });
     }
 }
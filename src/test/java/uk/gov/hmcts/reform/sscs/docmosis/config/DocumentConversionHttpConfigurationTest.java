@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class DocumentConversionHttpConfigurationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void buildsTheClientFromTheConfiguredLimits() {
+        DocumentConversionHttpConfig config = new DocumentConversionHttpConfig();
+        config.setMaxRequests(100);
+        config.setMaxRequestsPerHost(40);
+        config.setConnectTimeoutMillis(2_000);
+        config.setReadTimeoutMillis(30_000);
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+
+        OkHttpClient client = new DocumentConversionHttpConfiguration().documentConversionHttpClient(config, provider).getHttpClient();
+
+        assertEquals(100, client.dispatcher().getMaxRequests());
+        assertEquals(40, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(2_000, client.connectTimeoutMillis());
+        assertEquals(30_000, client.readTimeoutMillis());
+    }
+
+    @Test
+    public void listenerRecordsCallTimings() {
+        Call call = mock(Call.class);
+        EventListener listener = ConversionMetricsEventListener.factory(meterRegistry).create(call);
+
+        listener.callStart(call);
+        listener.requestHeadersStart(call);
+        listener.responseHeadersStart(call);
+        listener.responseBodyStart(call);
+        listener.responseBodyEnd(call, 10);
+        listener.callEnd(call);
+
+        assertEquals(1, meterRegistry.get("docmosis.convert.http.ttfb").timer().count());
+        assertEquals(1, meterRegistry.get("docmosis.convert.http.transfer").timer().count());
+        assertEquals(1, meterRegistry.get("docmosis.convert.http.call").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void listenerRecordsFailedCalls() {
+        Call call = mock(Call.class);
+        EventListener listener = ConversionMetricsEventListener.factory(meterRegistry).create(call);
+
+        listener.callStart(call);
+        listener.callFailed(call, new IOException("timeout"));
+
+        assertEquals(1, meterRegistry.get("docmosis.convert.http.call").tag("outcome", "failure").timer().count());
+    }
+}
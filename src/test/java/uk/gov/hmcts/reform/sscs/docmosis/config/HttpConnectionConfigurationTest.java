@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.sscs.docmosis.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisTimeoutPolicy;
+
+public class HttpConnectionConfigurationTest {
+
+    @Test
+    public void buildsThePoolFromTheConfiguredLimits() {
+        PoolingHttpClientConnectionManager connectionManager = HttpConnectionConfiguration.connectionManager(80, 40, 1_000);
+
+        assertEquals(80, connectionManager.getMaxTotal());
+        assertEquals(40, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(1_000, connectionManager.getValidateAfterInactivity());
+    }
+
+    @Test
+    public void poolsConnectionsWithTheSystemSocketFactories() {
+        Registry<ConnectionSocketFactory> socketFactories = HttpConnectionConfiguration.socketFactoryRegistry();
+
+        assertSame(PlainConnectionSocketFactory.getSocketFactory(), socketFactories.lookup("http"));
+        assertTrue(socketFactories.lookup("https") instanceof SSLConnectionSocketFactory);
+    }
+
+    @Test
+    public void exposesPoolStatisticsAsGauges() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PoolingHttpClientConnectionManager connectionManager = HttpConnectionConfiguration.connectionManager(80, 40, 1_000);
+
+        HttpConnectionConfiguration.bindPoolMetrics(connectionManager, meterRegistry);
+
+        assertEquals(80.0, meterRegistry.get("http.connect.pool.max").gauge().value(), 0.0);
+        assertEquals(0.0, meterRegistry.get("http.connect.pool.leased").gauge().value(), 0.0);
+        assertEquals(0.0, meterRegistry.get("http.connect.pool.available").gauge().value(), 0.0);
+        assertEquals(0.0, meterRegistry.get("http.connect.pool.pending").gauge().value(), 0.0);
+    }
+
+    @Test
+    public void keepAliveDefaultsWhenTheServerDoesNotSayOtherwise() {
+        ConnectionKeepAliveStrategy strategy = HttpConnectionConfiguration.keepAliveStrategy(30_000);
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+
+        assertEquals(30_000, strategy.getKeepAliveDuration(response, new BasicHttpContext()));
+    }
+
+    @Test
+    public void keepAliveHonoursTheServerTimeout() {
+        ConnectionKeepAliveStrategy strategy = HttpConnectionConfiguration.keepAliveStrategy(30_000);
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+        response.addHeader("Keep-Alive", "timeout=5");
+
+        assertEquals(5_000, strategy.getKeepAliveDuration(response, new BasicHttpContext()));
+    }
+
+    @Test
+    public void renderContextIsOnlyCreatedForATemplateWithATimeout() {
+        RequestConfig config = RequestConfig.custom().setSocketTimeout(60_000).setConnectTimeout(1_000).build();
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .overrides(Map.of("letter", Duration.ofSeconds(5)))
+            .build();
+
+        assertNull(HttpConnectionConfiguration.renderContext(config));
+
+        HttpClientContext context = policy.withTimeout("letter",
+            () -> (HttpClientContext) HttpConnectionConfiguration.renderContext(config));
+
+        assertEquals(5_000, context.getRequestConfig().getSocketTimeout());
+        assertEquals(1_000, context.getRequestConfig().getConnectTimeout());
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.sscs.docmosis.domain;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.junit.Test;
+
+public class PdfTest {
+
+    private static final byte[] CONTENT = {1, 2, 3};
+
+    @Test
+    public void contentBufferIsAReadOnlyViewOfTheContent() {
+        ByteBuffer buffer = new Pdf(CONTENT, "letter.pdf").getContentBuffer();
+
+        assertTrue(buffer.isReadOnly());
+        assertEquals(CONTENT.length, buffer.remaining());
+        assertEquals(2, buffer.get(1));
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void contentBufferCannotBeWritten() {
+        new Pdf(CONTENT, "letter.pdf").getContentBuffer().put(0, (byte) 9);
+    }
+
+    @Test
+    public void contentStreamReadsTheContent() throws IOException {
+        assertArrayEquals(CONTENT, new Pdf(CONTENT, "letter.pdf").getContentStream().readAllBytes());
+    }
+
+    @Test
+    public void getContentReturnsACopy() {
+        Pdf pdf = new Pdf(CONTENT.clone(), "letter.pdf");
+
+        pdf.getContent()[0] = 9;
+
+        assertArrayEquals(CONTENT, pdf.getContent());
+    }
+
+    @Test
+    public void pdfsWithTheSameNameAndContentAreEqual() {
+        Pdf pdf = new Pdf(CONTENT, "letter.pdf");
+        Pdf other = new Pdf(CONTENT.clone(), "letter.pdf");
+
+        assertEquals(pdf, other);
+        assertEquals(pdf.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void pdfsWithDifferentContentOrNamesAreNotEqual() {
+        Pdf pdf = new Pdf(CONTENT, "letter.pdf");
+
+        assertNotEquals(pdf, new Pdf(new byte[] {1, 2, 4}, "letter.pdf"));
+        assertNotEquals(pdf, new Pdf(CONTENT, "other.pdf"));
+        assertNotEquals(pdf, new Pdf(null, "letter.pdf"));
+    }
+
+    @Test
+    public void handlesMissingContent() {
+        Pdf pdf = new Pdf(null, "letter.pdf");
+
+        assertNull(pdf.getContentBuffer());
+        assertNull(pdf.getContentStream());
+        assertEquals(0, pdf.getSize());
+        assertEquals(pdf, new Pdf(null, "letter.pdf"));
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class AsyncDocmosisPdfGenerationServiceTest {
+
+    private static final byte[] PDF = "Welcome to PDF document service".getBytes();
+
+    private MockWebServer server;
+
+    private AsyncDocmosisPdfGenerationService service;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        service = new AsyncDocmosisPdfGenerationService(server.url("/rs/render").toString(), "key",
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), Duration.ofSeconds(5), PdfDocumentRequestSerializer.defaultSerializer());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void givenADocumentHolder_thenGenerateAPdfAsynchronously() throws Exception {
+        server.enqueue(new MockResponse().setBody(new Buffer().write(PDF)));
+
+        byte[] result = service.generatePdfAsync(holder()).get();
+
+        assertThat(result, is(equalTo(PDF)));
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getHeader("Content-Type"), is("application/json"));
+        assertThat(request.getBody().readUtf8(), containsString("\"templateName\":\"bla\""));
+    }
+
+    @Test
+    public void manyRendersCanBeInFlightAtOnce() {
+        IntStream.range(0, 20).forEach(i -> server.enqueue(new MockResponse().setBody(new Buffer().write(PDF))));
+
+        List<CompletableFuture<byte[]>> futures = IntStream.range(0, 20)
+                .mapToObj(i -> service.generatePdfAsync(holder()))
+                .collect(Collectors.toList());
+
+        futures.forEach(future -> assertThat(future.join(), is(equalTo(PDF))));
+    }
+
+    @Test(expected = PdfGenerationException.class)
+    public void givenDocmosisReturnsAnError_thenThrowPdfGenerationException() {
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        service.generatePdf(holder());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTemplateName_thenThrowIllegalArgumentException() {
+        service.generatePdfAsync(DocumentHolder.builder().template(null).placeholders(new HashMap<>()).build());
+    }
+
+    private DocumentHolder holder() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("PBANumber", "PBA123456");
+        return DocumentHolder.builder().template(new Template("bla", "bla2")).placeholders(placeholders).build();
+    }
+}
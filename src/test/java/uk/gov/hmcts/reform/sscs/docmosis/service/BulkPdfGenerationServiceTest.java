@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfGenerationResult;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class BulkPdfGenerationServiceTest {
+
+    private BulkPdfGenerationService service;
+
+    @After
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void givenManyHolders_thenReturnResultsInInputOrder() {
+        service = new BulkPdfGenerationService(holder -> {
+            String name = holder.getTemplate().getTemplateName();
+            sleep(name.equals("first") ? 200 : 0);
+            return name.getBytes();
+        }, 3, Duration.ofSeconds(5));
+
+        List<PdfGenerationResult> results = service.generatePdfs(List.of(holder("first"), holder("second"), holder("third")));
+
+        assertEquals(3, results.size());
+        assertArrayEquals("first".getBytes(), results.get(0).getPdf());
+        assertArrayEquals("second".getBytes(), results.get(1).getPdf());
+        assertArrayEquals("third".getBytes(), results.get(2).getPdf());
+    }
+
+    @Test
+    public void givenAFailingRender_thenReportItWithoutAbortingTheBatch() {
+        service = new BulkPdfGenerationService(holder -> {
+            if (holder.getTemplate().getTemplateName().equals("broken")) {
+                throw new PdfGenerationException("Docmosis error", new RuntimeException());
+            }
+            return new byte[]{1};
+        }, 2, Duration.ofSeconds(5));
+
+        List<PdfGenerationResult> results = service.generatePdfs(List.of(holder("ok"), holder("broken"), holder("ok")));
+
+        assertTrue(results.get(0).isSuccessful());
+        assertFalse(results.get(1).isSuccessful());
+        assertTrue(results.get(1).getError() instanceof PdfGenerationException);
+        assertTrue(results.get(2).isSuccessful());
+    }
+
+    @Test
+    public void givenASlowRender_thenTimeItOut() {
+        service = new BulkPdfGenerationService(holder -> {
+            sleep(holder.getTemplate().getTemplateName().equals("slow") ? 2_000 : 0);
+            return new byte[]{1};
+        }, 2, Duration.ofMillis(100));
+
+        List<PdfGenerationResult> results = service.generatePdfs(List.of(holder("slow"), holder("fast")));
+
+        assertTrue(results.get(0).getError() instanceof TimeoutException);
+        assertTrue(results.get(1).isSuccessful());
+    }
+
+    @Test
+    public void givenARender_thenItsRequestIsGivenTheBatchTimeout() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .overrides(Map.of("bundle", Duration.ofMinutes(5)))
+            .build();
+        service = new BulkPdfGenerationService(holder -> {
+            Duration timeout = policy.timeoutFor(holder.getTemplate().getTemplateName()).orElseThrow();
+            return String.valueOf(timeout.toMillis()).getBytes();
+        }, 2, Duration.ofSeconds(5));
+
+        List<PdfGenerationResult> results = service.generatePdfs(List.of(holder("bundle"), holder("letter")));
+
+        assertArrayEquals("5000".getBytes(), results.get(0).getPdf());
+        assertArrayEquals("5000".getBytes(), results.get(1).getPdf());
+    }
+
+    @Test
+    public void neverRunsMoreThanTheParallelismLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        service = new BulkPdfGenerationService(holder -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(50);
+            inFlight.decrementAndGet();
+            return new byte[]{1};
+        }, 2, Duration.ofSeconds(5));
+
+        service.generatePdfs(List.of(holder("a"), holder("b"), holder("c"), holder("d"), holder("e")));
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    private DocumentHolder holder(String templateName) {
+        return DocumentHolder.builder().template(new Template(templateName, "dl6")).placeholders(Map.of()).build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
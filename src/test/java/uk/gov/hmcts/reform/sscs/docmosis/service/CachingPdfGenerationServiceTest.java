@@ -0,0 +1,98 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+
+public class CachingPdfGenerationServiceTest {
+
+    private static final byte[] PDF = {1, 2, 3};
+
+    @Mock
+    private PdfGenerationService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingPdfGenerationService service;
+
+    @Before
+    public void setup() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegate.generatePdf(any(DocumentHolder.class))).thenReturn(PDF);
+        service = new CachingPdfGenerationService(delegate, 1024, Duration.ofMinutes(5), Set.of("dated-template"), meterRegistry);
+    }
+
+    @Test
+    public void givenTheSameTemplateAndPlaceholders_thenRenderOnce() {
+        Map<String, Object> placeholders = new LinkedHashMap<>();
+        placeholders.put("name", "Harry");
+        placeholders.put("hearingDate", LocalDate.of(2024, 1, 1));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("hearingDate", LocalDate.of(2024, 1, 1));
+        reordered.put("name", "Harry");
+
+        assertArrayEquals(PDF, service.generatePdf(holder("template", placeholders, false)));
+        assertArrayEquals(PDF, service.generatePdf(holder("template", reordered, false)));
+
+        verify(delegate, times(1)).generatePdf(any(DocumentHolder.class));
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "docmosis.render").tag("result", "hit").functionCounter().count(), 0);
+    }
+
+    @Test
+    public void givenDifferentPlaceholdersOrArchiveMode_thenRenderAgain() {
+        service.generatePdf(holder("template", Map.of("name", "Harry"), false));
+        service.generatePdf(holder("template", Map.of("name", "Ron"), false));
+        service.generatePdf(holder("template", Map.of("name", "Ron"), true));
+        service.generatePdf(holder("other", Map.of("name", "Ron"), true));
+
+        verify(delegate, times(4)).generatePdf(any(DocumentHolder.class));
+    }
+
+    @Test
+    public void givenAPdfLargerThanTheCache_thenDoNotKeepIt() {
+        when(delegate.generatePdf(any(DocumentHolder.class))).thenReturn(new byte[2048]);
+
+        service.generatePdf(holder("template", Map.of("name", "Harry"), false));
+        service.generatePdf(holder("template", Map.of("name", "Harry"), false));
+
+        verify(delegate, times(2)).generatePdf(any(DocumentHolder.class));
+    }
+
+    @Test
+    public void givenAnExcludedTemplate_thenNeverCache() {
+        service.generatePdf(holder("dated-template", Map.of("name", "Harry"), false));
+        service.generatePdf(holder("dated-template", Map.of("name", "Harry"), false));
+
+        verify(delegate, times(2)).generatePdf(any(DocumentHolder.class));
+    }
+
+    @Test
+    public void cachedContentCannotBeModifiedByCallers() {
+        DocumentHolder holder = holder("template", Map.of("name", "Harry"), false);
+        service.generatePdf(holder)[0] = 9;
+
+        assertArrayEquals(PDF, service.generatePdf(holder));
+    }
+
+    private DocumentHolder holder(String templateName, Map<String, Object> placeholders, boolean pdfArchiveMode) {
+        return DocumentHolder.builder().template(new Template(templateName, "dl6")).placeholders(placeholders)
+                .pdfArchiveMode(pdfArchiveMode).build();
+    }
+}
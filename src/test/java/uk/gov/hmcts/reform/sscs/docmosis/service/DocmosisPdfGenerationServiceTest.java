@@ -4,20 +4,31 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.sscs.docmosis.config.PdfDocumentConfig;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
 
 public class DocmosisPdfGenerationServiceTest {
 
@@ -65,6 +76,75 @@ public class DocmosisPdfGenerationServiceTest {
         assertThat(result, is(equalTo(FILE_CONTENT.getBytes())));
     }
 
+    @Test
+    public void givenADocumentHolder_thenStreamThePdfToTheOutputStream() throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(FILE_CONTENT.getBytes()));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> invocation.getArgument(3, ResponseExtractor.class).extractData(response));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pdfGenerationService.generatePdf(DocumentHolder.builder().template(new Template("bla", "bla2")).placeholders(PLACEHOLDERS).build(), outputStream);
+
+        assertThat(outputStream.toByteArray(), is(equalTo(FILE_CONTENT.getBytes())));
+    }
+
+    @Test(expected = PdfGenerationException.class)
+    public void givenDocmosisFails_thenStreamingThrowsPdfGenerationException() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any(ResponseExtractor.class)))
+            .thenThrow(new RestClientException("Docmosis unavailable"));
+
+        pdfGenerationService.generatePdf(DocumentHolder.builder().template(new Template("bla", "bla2")).placeholders(PLACEHOLDERS).build(), new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void givenADocumentHolder_thenRecordRenderMetricsForTheTemplate() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DocmosisPdfGenerationService service = new DocmosisPdfGenerationService("bla", "bla2", restTemplate,
+            PdfDocumentRequestSerializer.defaultSerializer(), new DocmosisRenderMetrics(meterRegistry));
+        doReturn(createResponseEntity()).when(restTemplate).postForEntity(anyString(), any(), eq(byte[].class));
+
+        service.generatePdf(DocumentHolder.builder().template(new Template("bla", "bla2")).placeholders(PLACEHOLDERS).build());
+
+        assertThat(meterRegistry.get("docmosis.render").tags("template", "bla", "outcome", "success").timer().count(), is(1L));
+        assertThat(meterRegistry.get("docmosis.render.request.size").tag("template", "bla").summary().totalAmount(), is(greaterThan(0.0)));
+        assertThat(meterRegistry.get("docmosis.render.response.size").tag("template", "bla").summary().totalAmount(),
+            is((double) FILE_CONTENT.getBytes().length));
+        assertThat(meterRegistry.get("docmosis.render.in.flight").gauge().value(), is(0.0));
+    }
+
+    @Test
+    public void givenDocmosisFails_thenRecordAFailedRender() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DocmosisPdfGenerationService service = new DocmosisPdfGenerationService("bla", "bla2", restTemplate,
+            PdfDocumentRequestSerializer.defaultSerializer(), new DocmosisRenderMetrics(meterRegistry));
+        when(restTemplate.postForEntity(anyString(), any(), eq(byte[].class))).thenThrow(new RestClientException("Docmosis unavailable"));
+
+        try {
+            service.generatePdf(DocumentHolder.builder().template(new Template("bla", "bla2")).placeholders(PLACEHOLDERS).build());
+        } catch (PdfGenerationException e) {
+            // expected
+        }
+
+        assertThat(meterRegistry.get("docmosis.render").tags("template", "bla", "outcome", "failure").timer().count(), is(1L));
+        assertThat(meterRegistry.find("docmosis.render.response.size").summary(), is(nullValue()));
+        assertThat(meterRegistry.get("docmosis.render.in.flight").gauge().value(), is(0.0));
+    }
+
+    @Test
+    public void givenTwoRenderMetricsOnOneRegistry_thenBothFeedTheInFlightGauge() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DocmosisRenderMetrics first = new DocmosisRenderMetrics(meterRegistry);
+        DocmosisRenderMetrics second = new DocmosisRenderMetrics(meterRegistry);
+
+        first.start();
+        second.start();
+        first = null;
+        System.gc();
+
+        assertThat(meterRegistry.get("docmosis.render.in.flight").gauge().value(), is(2.0));
+    }
+
     private ResponseEntity<byte[]> createResponseEntity() {
         return new ResponseEntity<>(FILE_CONTENT.getBytes(), HttpStatus.OK);
     }
@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+
+public class DocmosisTimeoutPolicyTest {
+
+    @Test
+    public void noTimeoutByDefault() {
+        assertThat(DocmosisTimeoutPolicy.none().timeoutFor("letter"), is(Optional.empty()));
+    }
+
+    @Test
+    public void templateOverrideWinsOverTheDefault() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .defaultTimeout(Duration.ofSeconds(30))
+            .overrides(Map.of("bundle", Duration.ofSeconds(90)))
+            .build();
+
+        assertThat(policy.timeoutFor("bundle"), is(Optional.of(Duration.ofSeconds(90))));
+        assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofSeconds(30))));
+    }
+
+    @Test
+    public void ceilingCapsTheTimeoutOnlyWhileItApplies() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .overrides(Map.of("bundle", Duration.ofSeconds(90), "letter", Duration.ofSeconds(5)))
+            .build();
+
+        DocmosisTimeoutPolicy.withCeiling(Duration.ofSeconds(30), () -> {
+            assertThat(policy.timeoutFor("bundle"), is(Optional.of(Duration.ofSeconds(30))));
+            assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofSeconds(5))));
+            assertThat(DocmosisTimeoutPolicy.none().timeoutFor("other"), is(Optional.of(Duration.ofSeconds(30))));
+            return null;
+        });
+
+        assertThat(policy.timeoutFor("bundle"), is(Optional.of(Duration.ofSeconds(90))));
+    }
+
+    @Test
+    public void adaptiveTimeoutFollowsTheObservedPercentile() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .adaptive(true)
+            .percentile(0.9)
+            .multiplier(2.0)
+            .windowSize(10)
+            .minimumSamples(10)
+            .minimum(Duration.ofMillis(100))
+            .maximum(Duration.ofSeconds(60))
+            .build();
+
+        for (int i = 1; i <= 10; i++) {
+            policy.record("letter", Duration.ofMillis(i * 100L));
+        }
+
+        assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofMillis(1800))));
+    }
+
+    @Test
+    public void adaptiveTimeoutIsNotUsedUntilThereAreEnoughSamples() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .defaultTimeout(Duration.ofSeconds(30))
+            .adaptive(true)
+            .minimumSamples(5)
+            .build();
+
+        policy.record("letter", Duration.ofMillis(100));
+
+        assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofSeconds(30))));
+    }
+
+    @Test
+    public void adaptiveTimeoutIsClamped() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .adaptive(true)
+            .windowSize(1)
+            .minimumSamples(1)
+            .minimum(Duration.ofSeconds(2))
+            .maximum(Duration.ofSeconds(10))
+            .build();
+
+        policy.record("letter", Duration.ofMillis(10));
+        assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofSeconds(2))));
+
+        policy.record("letter", Duration.ofSeconds(30));
+        assertThat(policy.timeoutFor("letter"), is(Optional.of(Duration.ofSeconds(10))));
+    }
+
+    @Test
+    public void currentTimeoutIsOnlySetWhileRendering() {
+        DocmosisTimeoutPolicy policy = DocmosisTimeoutPolicy.builder()
+            .overrides(Map.of("letter", Duration.ofSeconds(5)))
+            .build();
+
+        Optional<Duration> duringRender = policy.withTimeout("letter", DocmosisTimeoutPolicy::currentTimeout);
+
+        assertThat(duringRender, is(Optional.of(Duration.ofSeconds(5))));
+        assertThat(DocmosisTimeoutPolicy.currentTimeout(), is(Optional.empty()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAMinimumAboveTheMaximum() {
+        DocmosisTimeoutPolicy.builder().minimum(Duration.ofSeconds(10)).maximum(Duration.ofSeconds(1)).build();
+    }
+}
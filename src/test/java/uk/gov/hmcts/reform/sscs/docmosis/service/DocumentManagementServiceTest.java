@@ -1,12 +1,15 @@
 package uk.gov.hmcts.reform.sscs.docmosis.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -16,6 +19,7 @@ import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
 import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
 import uk.gov.hmcts.reform.sscs.service.CcdPdfService;
 
 public class DocumentManagementServiceTest {
@@ -34,7 +38,7 @@ public class DocumentManagementServiceTest {
     @Before
     public void setup() {
         initMocks(this);
-        documentManagementService = new DocumentManagementService(pdfGenerationService, ccdPdfService, idamService);
+        documentManagementService = new DocumentManagementService(pdfGenerationService, ccdPdfService, idamService, Runnable::run);
     }
 
     @Test
@@ -57,4 +61,37 @@ public class DocumentManagementServiceTest {
 
         assertEquals("Pdf should be as expected", new Pdf(pdfBytes, docName), result);
     }
+
+    @Test
+    public void givenACaseDataAndTemplateData_thenCreateAPdfAndAddToCaseInCcdAsynchronously() {
+        DocumentHolder holder = DocumentHolder.builder().placeholders(new HashMap<>()).template(new Template("bla", "dl6")).build();
+        byte[] pdfBytes = {1};
+        String docName = "dl6-12345678.pdf";
+        IdamTokens tokens = IdamTokens.builder().build();
+
+        given(pdfGenerationService.generatePdf(holder)).willReturn(pdfBytes);
+        given(idamService.getIdamTokens()).willReturn(tokens);
+
+        SscsCaseData caseData = SscsCaseData.builder().ccdCaseId("12345678").build();
+
+        Pdf result = new DocumentManagementService(pdfGenerationService, ccdPdfService, idamService, Runnable::run)
+            .generateDocumentAndAddToCcdAsync(holder, caseData).join();
+
+        verify(ccdPdfService).mergeDocIntoCcd(docName, pdfBytes, 12345678L, caseData, tokens,  "Uploaded " + docName + " into SSCS", holder.getTemplate().getHmctsDocName());
+
+        assertEquals("Pdf should be as expected", new Pdf(pdfBytes, docName), result);
+    }
+
+    @Test
+    public void givenTheRenderFails_thenTheFutureFailsAndNothingIsAddedToCcd() {
+        DocumentHolder holder = DocumentHolder.builder().placeholders(new HashMap<>()).template(new Template("bla", "dl6")).build();
+        given(pdfGenerationService.generatePdf(holder)).willThrow(new PdfGenerationException("down", new RuntimeException()));
+        given(idamService.getIdamTokens()).willReturn(IdamTokens.builder().build());
+
+        CompletableFuture<Pdf> result = new DocumentManagementService(pdfGenerationService, ccdPdfService, idamService, Runnable::run)
+            .generateDocumentAndAddToCcdAsync(holder, SscsCaseData.builder().ccdCaseId("12345678").build());
+
+        assertTrue(result.isCompletedExceptionally());
+        verifyNoInteractions(ccdPdfService);
+    }
 }
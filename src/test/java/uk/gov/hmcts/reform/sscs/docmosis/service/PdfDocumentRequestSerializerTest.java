@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.sscs.docmosis.service;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
+
+public class PdfDocumentRequestSerializerTest {
+
+    @Test
+    public void defaultPayloadMatchesTheRestTemplateConverter() throws IOException {
+        ObjectMapper restTemplateMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        byte[] json = PdfDocumentRequestSerializer.defaultSerializer().serialize(request());
+
+        assertThat(restTemplateMapper.readTree(json), is(restTemplateMapper.valueToTree(request())));
+    }
+
+    @Test
+    public void leavesOutNullAndEmptyPlaceholdersWhenSuppressionIsOn() throws IOException {
+        String json = new String(new PdfDocumentRequestSerializer(true, false).serialize(request()), StandardCharsets.UTF_8);
+
+        assertThat(json, containsString("\"templateName\":\"TB-SCS-GNO-ENG-00001.docx\""));
+        assertThat(json, containsString("\"appellant_full_name\":\"Harry Potter\""));
+        assertThat(json, containsString("\"hearing_date\":[2024,1,31]"));
+        assertThat(json, containsString("\"pdfArchiveMode\":false"));
+        assertThat(json, not(containsString("representative_name")));
+        assertThat(json, not(containsString("joint_party_name")));
+    }
+
+    @Test
+    public void keepsEmptyPlaceholdersByDefault() throws IOException {
+        String json = new String(PdfDocumentRequestSerializer.defaultSerializer().serialize(request()), StandardCharsets.UTF_8);
+
+        assertThat(json, containsString("\"representative_name\":null"));
+        assertThat(json, containsString("\"joint_party_name\":\"\""));
+    }
+
+    @Test
+    public void gzipsTheRequestWhenEnabled() throws IOException {
+        PdfDocumentRequestSerializer serializer = new PdfDocumentRequestSerializer(true, true);
+
+        HttpEntity<byte[]> entity = serializer.httpEntity(request());
+
+        assertThat(entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entity.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8), containsString("Harry Potter"));
+        }
+    }
+
+    private PdfDocumentRequest request() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("appellant_full_name", "Harry Potter");
+        placeholders.put("hearing_date", LocalDate.of(2024, 1, 31));
+        placeholders.put("representative_name", null);
+        placeholders.put("joint_party_name", "");
+        return PdfDocumentRequest.builder()
+                .accessKey("key")
+                .templateName("TB-SCS-GNO-ENG-00001.docx")
+                .outputName("result.pdf")
+                .data(placeholders)
+                .build();
+    }
+}
@@ -1,18 +1,28 @@
 package uk.gov.hmcts.reform.sscs.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,6 +30,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import uk.gov.hmcts.reform.pdf.service.client.PDFServiceClient;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.ccd.exception.CcdException;
@@ -51,6 +62,12 @@ public class CcdNotificationsPdfServiceTest {
     @Mock
     IdamService idamService;
 
+    @Spy
+    TemplateRegistry templateRegistry = new TemplateRegistry();
+
+    @Spy
+    CorrespondenceUploadStore correspondenceUploadStore = new CorrespondenceUploadStore(100, Duration.ofHours(1));
+
     private SscsCaseData caseData = buildCaseData().toBuilder().ccdCaseId("123").build();
 
     private List<SscsDocument> sscsDocuments;
@@ -124,6 +141,29 @@ public class CcdNotificationsPdfServiceTest {
         verify(updateCcdCaseService).updateCaseV2(eq(caseId), eq(EventType.NOTIFICATION_SENT.getCcdType()), eq("Notification sent"), eq("Notification sent via Gov Notify"), any(), any(Consumer.class));
     }
 
+    @Test
+    public void givenARetriedNotification_thenReuseTheUploadedPdf() {
+        Long caseId = Long.valueOf(caseData.getCcdCaseId());
+        Correspondence correspondence = Correspondence.builder().value(
+                CorrespondenceDetails.builder()
+                        .sentOn("22 Jan 2021 11:00")
+                        .from("from")
+                        .to("to")
+                        .body("the body")
+                        .subject("a subject")
+                        .eventType("event")
+                        .correspondenceType(CorrespondenceType.Email)
+                        .build()).build();
+        when(pdfStoreService.store(any(), any(), eq(CorrespondenceType.Email.name()))).thenReturn(sscsDocuments);
+
+        service.mergeCorrespondenceIntoCcdV2(caseId, correspondence);
+        service.mergeCorrespondenceIntoCcdV2(caseId, correspondence);
+
+        verify(pdfServiceClient, times(1)).generateFromHtml(any(), any());
+        verify(pdfStoreService, times(1)).store(any(), any(), any());
+        verify(updateCcdCaseService, times(2)).updateCaseV2(eq(caseId), any(), any(), any(), any(), any(Consumer.class));
+    }
+
     @Test
     public void shouldNotThrowExceptionWhenCaseUpdateFailsForMergeCorrespondenceIntoCcdV2() {
         Long caseId = Long.valueOf(caseData.getCcdCaseId());
@@ -168,6 +208,78 @@ public class CcdNotificationsPdfServiceTest {
         verify(ccdService).updateCaseWithoutRetry(any(), any(), any(), eq("Notification sent"), eq("Notification sent via Gov Notify"), any());
     }
 
+    @Test
+    public void givenALetter_thenUploadItWhileFetchingTheCase() {
+        byte[] bytes = "String".getBytes();
+        Long caseId = Long.valueOf(caseData.getCcdCaseId());
+        Correspondence correspondence = Correspondence.builder().value(
+                CorrespondenceDetails.builder()
+                        .sentOn("22 Jan 2021 11:00")
+                        .from("from")
+                        .to("to")
+                        .subject("a subject")
+                        .eventType("event")
+                        .correspondenceType(CorrespondenceType.Letter)
+                        .build()).build();
+
+        CountDownLatch uploading = new CountDownLatch(1);
+        when(pdfStoreService.store(any(), any(), eq(CorrespondenceType.Letter.name()))).thenAnswer(invocation -> {
+            uploading.countDown();
+            return sscsDocuments;
+        });
+        when(ccdService.getByCaseId(eq(caseId), any())).thenAnswer(invocation -> {
+            assertTrue("upload should start before the case fetch finishes", uploading.await(5, TimeUnit.SECONDS));
+            return SscsCaseDetails.builder().data(caseData).build();
+        });
+
+        service.mergeLetterCorrespondenceIntoCcd(bytes, caseId, correspondence);
+
+        verify(ccdService).updateCaseWithoutRetry(caseDataCaptor.capture(), any(), any(), eq("Notification sent"), eq("Notification sent via Gov Notify"), any());
+        assertTrue(caseDataCaptor.getValue().getCorrespondence().stream()
+                .anyMatch(c -> sscsDocuments.get(0).getValue().getDocumentLink().equals(c.getValue().getDocumentLink())));
+    }
+
+    @Test
+    public void givenTheServiceIsDestroyed_thenUploadTheLetterOnTheCallersThread() {
+        Long caseId = Long.valueOf(caseData.getCcdCaseId());
+        Correspondence correspondence = Correspondence.builder().value(
+                CorrespondenceDetails.builder()
+                        .sentOn("22 Jan 2021 11:00")
+                        .eventType("event")
+                        .correspondenceType(CorrespondenceType.Letter)
+                        .build()).build();
+        Thread caller = Thread.currentThread();
+        when(ccdService.getByCaseId(eq(caseId), any())).thenReturn(SscsCaseDetails.builder().data(caseData).build());
+        when(pdfStoreService.store(any(), any(), any())).thenAnswer(invocation -> {
+            assertSame(caller, Thread.currentThread());
+            return sscsDocuments;
+        });
+
+        service.destroy();
+        service.mergeLetterCorrespondenceIntoCcd("String".getBytes(), caseId, correspondence);
+
+        verify(pdfStoreService).store(any(), any(), eq(CorrespondenceType.Letter.name()));
+    }
+
+    @Test
+    public void givenTheLetterUploadFails_thenThrowTheUploadError() {
+        Long caseId = Long.valueOf(caseData.getCcdCaseId());
+        Correspondence correspondence = Correspondence.builder().value(
+                CorrespondenceDetails.builder()
+                        .sentOn("22 Jan 2021 11:00")
+                        .eventType("event")
+                        .correspondenceType(CorrespondenceType.Letter)
+                        .build()).build();
+        when(ccdService.getByCaseId(eq(caseId), any())).thenReturn(SscsCaseDetails.builder().data(caseData).build());
+        when(pdfStoreService.store(any(), any(), any())).thenThrow(new IllegalStateException("doc store unavailable"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> service.mergeLetterCorrespondenceIntoCcd("String".getBytes(), caseId, correspondence));
+
+        assertEquals("doc store unavailable", error.getMessage());
+        verify(ccdService, never()).updateCaseWithoutRetry(any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     public void shouldMergeLetterCorrespondenceIntoCcdV2() {
         byte[] bytes = "String".getBytes();
@@ -210,6 +322,37 @@ public class CcdNotificationsPdfServiceTest {
         verifyCaseDataUpdatedWithCorrespondence();
     }
 
+    @Test
+    public void givenSeveralReasonableAdjustmentPdfs_thenMergeThemIntoOneLetter() throws IOException {
+        List<Pdf> pdfs = List.of(new Pdf(onePagePdf(), "first"), new Pdf(onePagePdf(), "second"));
+        Correspondence correspondence = Correspondence.builder().value(
+                CorrespondenceDetails.builder()
+                        .sentOn("22 Jan 2021 11:33")
+                        .eventType("event")
+                        .correspondenceType(CorrespondenceType.Letter)
+                        .build()).build();
+        when(pdfStoreService.store(any(), any(), eq(CorrespondenceType.Letter.name()))).thenReturn(sscsDocuments);
+        when(updateCcdCaseService.updateCaseV2WithoutRetry(any(), any(), eq("Notification sent"), any(), any(), any(Consumer.class)))
+                .thenReturn(SscsCaseDetails.builder().data(caseData).build());
+
+        service.mergeReasonableAdjustmentsCorrespondenceIntoCcd(pdfs, Long.valueOf(caseData.getCcdCaseId()), correspondence, LetterType.APPELLANT);
+
+        ArgumentCaptor<byte[]> letter = ArgumentCaptor.forClass(byte[].class);
+        verify(pdfStoreService).store(letter.capture(), eq("event 22 Jan 2021 11:33.pdf"), eq(CorrespondenceType.Letter.name()));
+        try (PDDocument merged = PDDocument.load(letter.getValue())) {
+            assertEquals(2, merged.getNumberOfPages());
+        }
+    }
+
+    private static byte[] onePagePdf() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
     @Test
     @Parameters({"APPELLANT", "REPRESENTATIVE", "APPOINTEE", "JOINT_PARTY", "OTHER_PARTY"})
     public void givenAReasonableAdjustmentPdfForALetterType_thenCreateReasonableAdjustmentsCorrespondenceIntoCcdForRelevantParty(LetterType letterType) {
@@ -0,0 +1,182 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseDetails;
+import uk.gov.hmcts.reform.sscs.ccd.exception.CcdException;
+import uk.gov.hmcts.reform.sscs.ccd.service.UpdateCcdCaseService;
+import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
+
+public class CorrespondenceCoalescingBufferTest {
+
+    private static final Long CASE_ID = 123L;
+    private static final Long OTHER_CASE_ID = 456L;
+
+    @Mock
+    private UpdateCcdCaseService updateCcdCaseService;
+
+    @Mock
+    private IdamService idamService;
+
+    @Captor
+    private ArgumentCaptor<Consumer<SscsCaseDetails>> consumerCaptor;
+
+    private CorrespondenceCoalescingBuffer buffer;
+
+    @Before
+    public void setUp() {
+        openMocks(this);
+        when(idamService.getIdamTokens()).thenReturn(IdamTokens.builder().build());
+        buffer = new CorrespondenceCoalescingBuffer(updateCcdCaseService, idamService, Duration.ofMinutes(5));
+    }
+
+    @After
+    public void tearDown() {
+        buffer.destroy();
+    }
+
+    @Test
+    public void givenCorrespondenceForOneCase_thenAddItInOneEvent() {
+        Correspondence appellant = correspondence("appellant");
+        Correspondence representative = correspondence("representative");
+
+        buffer.add(CASE_ID, List.of(appellant));
+        buffer.add(CASE_ID, List.of(representative));
+        verifyNoInteractions(updateCcdCaseService);
+
+        buffer.destroy();
+
+        verify(updateCcdCaseService).updateCaseV2(eq(CASE_ID), eq(EventType.NOTIFICATION_SENT.getCcdType()), eq("Notification sent"),
+            eq("Notification sent via Gov Notify"), any(), consumerCaptor.capture());
+        assertThat(apply(consumerCaptor.getValue()), containsInAnyOrder(appellant, representative));
+    }
+
+    @Test
+    public void givenCorrespondenceForDifferentCases_thenAddItInAnEventPerCase() {
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+        buffer.add(OTHER_CASE_ID, List.of(correspondence("appellant")));
+
+        buffer.destroy();
+
+        verify(updateCcdCaseService).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+        verify(updateCcdCaseService).updateCaseV2(eq(OTHER_CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    public void givenTheWindowPasses_thenAddTheBufferedCorrespondence() {
+        buffer.destroy();
+        buffer = new CorrespondenceCoalescingBuffer(updateCcdCaseService, idamService, Duration.ofMillis(10));
+
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+
+        verify(updateCcdCaseService, timeout(5000)).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    public void givenShutdown_thenAddCorrespondenceImmediately() {
+        buffer.destroy();
+
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+
+        verify(updateCcdCaseService).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    public void givenTheUpdateFails_thenCarryOnWithOtherCases() {
+        doThrow(new CcdException("some error when updating case"))
+            .when(updateCcdCaseService).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+        buffer.add(OTHER_CASE_ID, List.of(correspondence("appellant")));
+
+        buffer.destroy();
+
+        verify(updateCcdCaseService).updateCaseV2(eq(OTHER_CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    public void givenTheIdamCallFails_thenRetryTheCorrespondence() {
+        buffer.destroy();
+        buffer = new CorrespondenceCoalescingBuffer(updateCcdCaseService, idamService, Duration.ofMillis(10));
+        when(idamService.getIdamTokens()).thenThrow(new IllegalStateException("idam unavailable"))
+            .thenReturn(IdamTokens.builder().build());
+        Correspondence appellant = correspondence("appellant");
+
+        buffer.add(CASE_ID, List.of(appellant));
+
+        verify(updateCcdCaseService, timeout(5000)).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), consumerCaptor.capture());
+        assertThat(apply(consumerCaptor.getValue()), containsInAnyOrder(appellant));
+    }
+
+    @Test
+    public void givenTheUpdateKeepsFailing_thenGiveUpAfterThreeAttempts() {
+        buffer.destroy();
+        buffer = new CorrespondenceCoalescingBuffer(updateCcdCaseService, idamService, Duration.ofMillis(10));
+        doThrow(new CcdException("some error when updating case"))
+            .when(updateCcdCaseService).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+
+        verify(updateCcdCaseService, timeout(5000).times(3)).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+        verify(updateCcdCaseService, after(200).times(3)).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    public void givenASlowUpdate_thenOtherCasesAreStillAdded() {
+        buffer.destroy();
+        buffer = new CorrespondenceCoalescingBuffer(updateCcdCaseService, idamService, Duration.ofMillis(10));
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        })
+            .when(updateCcdCaseService).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+
+        buffer.add(CASE_ID, List.of(correspondence("appellant")));
+        verify(updateCcdCaseService, timeout(5000)).updateCaseV2(eq(CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+        buffer.add(OTHER_CASE_ID, List.of(correspondence("appellant")));
+
+        verify(updateCcdCaseService, timeout(5000)).updateCaseV2(eq(OTHER_CASE_ID), any(), any(), any(), any(), any(Consumer.class));
+        release.countDown();
+    }
+
+    private List<Correspondence> apply(Consumer<SscsCaseDetails> consumer) {
+        SscsCaseDetails caseDetails = SscsCaseDetails.builder().data(SscsCaseData.builder().build()).build();
+        consumer.accept(caseDetails);
+        return caseDetails.getData().getCorrespondence();
+    }
+
+    private Correspondence correspondence(String to) {
+        return Correspondence.builder().value(
+            CorrespondenceDetails.builder()
+                .sentOn("22 Jan 2021 11:00")
+                .from("from")
+                .to(to)
+                .body("the body")
+                .subject("a subject")
+                .eventType("event")
+                .correspondenceType(CorrespondenceType.Email)
+                .build()).build();
+    }
+}
@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceType;
+
+public class CorrespondenceMergerTest {
+
+    private static final DateTimeFormatter SENT_ON = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm", Locale.ENGLISH);
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 22, 11, 0);
+
+    @Test
+    public void givenNoExistingCorrespondence_thenReturnTheNewCorrespondenceNewestFirst() {
+        List<Correspondence> additions = List.of(correspondence(1, "a"), correspondence(3, "b"), correspondence(2, "c"));
+
+        assertEquals(appendAndSort(null, additions), CorrespondenceMerger.merge(null, additions));
+        assertEquals(appendAndSort(List.of(), additions), CorrespondenceMerger.merge(List.of(), additions));
+    }
+
+    @Test
+    public void givenNothingNew_thenReturnTheExistingList() {
+        List<Correspondence> existing = newestFirst(5);
+
+        assertSame(existing, CorrespondenceMerger.merge(existing, List.of()));
+    }
+
+    @Test
+    public void givenNewCorrespondence_thenMergeItIntoPlace() {
+        List<Correspondence> existing = newestFirst(10);
+        List<Correspondence> additions = List.of(correspondence(20, "newest"), correspondence(-1, "oldest"),
+            correspondence(5, "middle"), correspondence(15, "later"));
+
+        List<Correspondence> merged = CorrespondenceMerger.merge(existing, additions);
+
+        assertEquals(appendAndSort(existing, additions), merged);
+        assertEquals(10, existing.size());
+    }
+
+    @Test
+    public void givenNewCorrespondenceSentAtTheSameTime_thenKeepTheExistingEntriesFirst() {
+        List<Correspondence> existing = newestFirst(3);
+        List<Correspondence> additions = List.of(correspondence(1, "new"));
+
+        assertEquals(appendAndSort(existing, additions), CorrespondenceMerger.merge(existing, additions));
+    }
+
+    @Test
+    public void givenExistingCorrespondenceOutOfOrder_thenSortEverything() {
+        List<Correspondence> existing = List.of(correspondence(1, "a"), correspondence(4, "b"), correspondence(2, "c"));
+        List<Correspondence> additions = List.of(correspondence(3, "d"));
+
+        assertEquals(appendAndSort(existing, additions), CorrespondenceMerger.merge(existing, additions));
+        assertEquals(appendAndSort(existing, List.of()), CorrespondenceMerger.merge(existing, List.of()));
+    }
+
+    @Test
+    public void givenCorrespondenceEqualToAnEntryOnTheCase_thenAddItAnyway() {
+        List<Correspondence> existing = newestFirst(5);
+        Correspondence repeated = existing.get(2).toBuilder().build();
+
+        List<Correspondence> merged = CorrespondenceMerger.merge(existing, List.of(repeated));
+
+        assertEquals(appendAndSort(existing, List.of(repeated)), merged);
+        assertEquals(6, merged.size());
+    }
+
+    private static List<Correspondence> appendAndSort(List<Correspondence> existing, List<Correspondence> additions) {
+        List<Correspondence> all = existing == null ? new ArrayList<>() : new ArrayList<>(existing);
+        all.addAll(additions);
+        all.sort(Comparator.reverseOrder());
+        return all;
+    }
+
+    private static List<Correspondence> newestFirst(int size) {
+        List<Correspondence> correspondence = new ArrayList<>();
+        for (int i = size - 1; i >= 0; i--) {
+            correspondence.add(correspondence(i, "existing " + i));
+        }
+        return correspondence;
+    }
+
+    private static Correspondence correspondence(int days, String to) {
+        return Correspondence.builder().value(
+            CorrespondenceDetails.builder()
+                .sentOn(START.plusDays(days).format(SENT_ON))
+                .from("from")
+                .to(to)
+                .body("the body")
+                .subject("a subject")
+                .eventType("event")
+                .correspondenceType(CorrespondenceType.Email)
+                .build()).build();
+    }
+}
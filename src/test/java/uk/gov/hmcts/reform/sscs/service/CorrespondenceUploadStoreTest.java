@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Correspondence;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CorrespondenceType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.DocumentLink;
+
+public class CorrespondenceUploadStoreTest {
+
+    private static final byte[] PDF = "a letter".getBytes();
+
+    private final CorrespondenceUploadStore store = new CorrespondenceUploadStore(100, Duration.ofHours(1));
+
+    private final AtomicInteger uploads = new AtomicInteger();
+
+    @Test
+    public void givenARetriedNotification_thenReuseTheFirstUpload() {
+        List<Correspondence> first = store.getOrUpload("123", correspondence("to", "22 Jan 2021 11:00"), PDF, upload());
+        List<Correspondence> retry = store.getOrUpload("123", correspondence("to", "22 Jan 2021 11:00"), PDF, upload());
+
+        assertSame(first, retry);
+        assertEquals(1, uploads.get());
+    }
+
+    @Test
+    public void givenDifferentNotifications_thenUploadEach() {
+        store.getOrUpload("123", correspondence("to", "22 Jan 2021 11:00"), PDF, upload());
+        store.getOrUpload("456", correspondence("to", "22 Jan 2021 11:00"), PDF, upload());
+        store.getOrUpload("123", correspondence("someone else", "22 Jan 2021 11:00"), PDF, upload());
+        store.getOrUpload("123", correspondence("to", "22 Jan 2021 11:01"), PDF, upload());
+
+        assertEquals(4, uploads.get());
+    }
+
+    @Test
+    public void givenTheUploadFails_thenTryAgainOnRetry() {
+        Correspondence correspondence = correspondence("to", "22 Jan 2021 11:00");
+
+        assertThrows(IllegalStateException.class, () -> store.getOrUpload("123", correspondence, PDF, () -> {
+            throw new IllegalStateException("doc store unavailable");
+        }));
+        store.getOrUpload("123", correspondence, PDF, upload());
+
+        assertEquals(1, uploads.get());
+    }
+
+    @Test
+    public void givenNothingWasUploaded_thenTryAgainOnRetry() {
+        Correspondence correspondence = correspondence("to", "22 Jan 2021 11:00");
+
+        store.getOrUpload("123", correspondence, PDF, List::of);
+        store.getOrUpload("123", correspondence, PDF, upload());
+
+        assertEquals(1, uploads.get());
+    }
+
+    @Test
+    public void givenDifferentPdfsForTheSameNotification_thenUploadEach() {
+        Correspondence correspondence = correspondence("to", "22 Jan 2021 11:00");
+
+        List<Correspondence> letter = store.getOrUpload("123", correspondence, "a letter".getBytes(), upload());
+        List<Correspondence> adjustedLetter = store.getOrUpload("123", correspondence, "a large print letter".getBytes(), upload());
+
+        assertEquals(2, uploads.get());
+        assertNotEquals(letter, adjustedLetter);
+        assertSame(adjustedLetter, store.getOrUpload("123", correspondence, "a large print letter".getBytes(), upload()));
+    }
+
+    @Test
+    public void givenEmailsWithDifferentContent_thenUploadEach() {
+        Correspondence email = correspondence("to", "22 Jan 2021 11:00");
+        Correspondence otherEmail = email.toBuilder().value(email.getValue().toBuilder().body("another body").build()).build();
+
+        store.getOrUpload("123", email, null, upload());
+        store.getOrUpload("123", otherEmail, null, upload());
+        store.getOrUpload("123", email, null, upload());
+
+        assertEquals(2, uploads.get());
+    }
+
+    @Test
+    public void keyIncludesTheCorrespondenceTypeAndContent() {
+        Correspondence email = correspondence("to", "22 Jan 2021 11:00");
+        Correspondence letter = email.toBuilder()
+            .value(email.getValue().toBuilder().correspondenceType(CorrespondenceType.Letter).build()).build();
+
+        assertTrue(CorrespondenceUploadStore.key("123", email, PDF).startsWith("123|event|22 Jan 2021 11:00|to|Email|"));
+        assertNotEquals(CorrespondenceUploadStore.key("123", email, PDF), CorrespondenceUploadStore.key("123", letter, PDF));
+        assertNotEquals(CorrespondenceUploadStore.key("123", email, PDF), CorrespondenceUploadStore.key("123", email, null));
+    }
+
+    @Test
+    public void keyLeavesAMissingRecipientEmpty() {
+        Correspondence correspondence = correspondence(null, "22 Jan 2021 11:00");
+
+        assertTrue(CorrespondenceUploadStore.key("123", correspondence, PDF).startsWith("123|event|22 Jan 2021 11:00||Email|"));
+    }
+
+    private Supplier<List<Correspondence>> upload() {
+        return () -> {
+            int upload = uploads.incrementAndGet();
+            return List.of(Correspondence.builder().value(CorrespondenceDetails.builder()
+                .documentLink(DocumentLink.builder().documentUrl("aUrl/" + upload).build())
+                .build()).build());
+        };
+    }
+
+    private Correspondence correspondence(String to, String sentOn) {
+        return Correspondence.builder().value(
+            CorrespondenceDetails.builder()
+                .sentOn(sentOn)
+                .from("from")
+                .to(to)
+                .subject("a subject")
+                .body("a body")
+                .eventType("event")
+                .correspondenceType(CorrespondenceType.Email)
+                .build()).build();
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class LocalHtmlPdfRendererTest {
+
+    private static final String SENT_NOTIFICATION = "/templates/sent_notification.html";
+
+    private final LocalHtmlPdfRenderer renderer = new LocalHtmlPdfRenderer(new String[] {SENT_NOTIFICATION});
+
+    @Test
+    public void onlyRendersConfiguredTemplates() {
+        assertTrue(renderer.renders(SENT_NOTIFICATION));
+        assertFalse(renderer.renders("/templates/appellant_appeal_template.html"));
+    }
+
+    @Test
+    public void rendersTheTemplateWithItsPlaceholders() throws IOException {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("sentOn", "22 Jan 2021 11:00");
+        placeholders.put("from", "from@example.com");
+        placeholders.put("to", "to@example.com");
+        placeholders.put("subject", "a subject");
+        placeholders.put("body", "<p>the <b>body</b></p>");
+
+        byte[] pdf = renderer.generatePdf(SENT_NOTIFICATION, placeholders);
+
+        try (PDDocument document = PDDocument.load(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertThat(text, containsString("Sent on: 22 Jan 2021 11:00"));
+            assertThat(text, containsString("Subject: a subject"));
+            assertThat(text, containsString("the body"));
+            assertThat(text, not(containsString("<b>")));
+        }
+    }
+
+    @Test(expected = PdfGenerationException.class)
+    public void throwsPdfGenerationExceptionForAMissingTemplate() {
+        new LocalHtmlPdfRenderer(new String[] {"/templates/missing.html"}).generatePdf("/templates/missing.html", new HashMap<>());
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.domain.pdf.PdfWrapper;
+
+public class PlaceholderProjectionTest {
+
+    private static final String[] REFERENCED_PATHS = {
+        "/ccdCaseId",
+        "/currentDate",
+        "/sscsCaseData/appeal/appellant/name/firstName",
+        "/sscsCaseData/appeal/appellant/name/lastName",
+        "/sscsCaseData/appeal/appellant/address/line1",
+        "/sscsCaseData/appeal/appellant/identity/nino",
+        "/sscsCaseData/appeal/benefitType/code",
+        "/sscsCaseData/appeal/mrnDetails/mrnDate",
+        "/sscsCaseData/appeal/hearingOptions/excludeDates",
+        "/sscsCaseData/appeal/appealReasons/reasons"
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final PdfWrapper pdfWrapper = PdfWrapper.builder()
+        .sscsCaseData(buildCaseData())
+        .ccdCaseId(1234L)
+        .currentDate(LocalDate.of(2024, 1, 31))
+        .build();
+
+    @Test
+    public void projectsOnlyThePropertiesTheTemplateReads() throws IOException {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate(read("/templates/appellant_appeal_template.html"), "PdfWrapper");
+
+        Object projected = projection.project(pdfWrapper);
+
+        assertFalse(projection.isFull());
+        assertThat(projected, instanceOf(Map.class));
+        assertThat(mapper.writeValueAsBytes(projected).length, lessThan(mapper.writeValueAsBytes(pdfWrapper).length));
+    }
+
+    @Test
+    public void keepsTheValuesTheTemplateReads() throws IOException {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate(read("/templates/appellant_appeal_template.html"), "PdfWrapper");
+
+        JsonNode full = mapper.valueToTree(pdfWrapper);
+        JsonNode projected = mapper.valueToTree(projection.project(pdfWrapper));
+
+        for (String path : REFERENCED_PATHS) {
+            assertEquals(path, full.at(path), projected.at(path));
+        }
+    }
+
+    @Test
+    public void leavesOutPropertiesTheTemplateDoesNotRead() {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate("<p>{{ PdfWrapper.ccdCaseId }}</p>", "PdfWrapper");
+
+        assertEquals(Map.of("ccdCaseId", 1234L), projection.project(pdfWrapper));
+    }
+
+    @Test
+    public void keepsTheWholeValueAtTheEndOfAPath() {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate(
+            "{% for reason in PdfWrapper.sscsCaseData.appeal.appealReasons.reasons %}{{ reason.value.reason }}{% endfor %}", "PdfWrapper");
+
+        JsonNode projected = mapper.valueToTree(projection.project(pdfWrapper));
+
+        assertEquals(mapper.valueToTree(pdfWrapper).at("/sscsCaseData/appeal/appealReasons/reasons"),
+            projected.at("/sscsCaseData/appeal/appealReasons/reasons"));
+    }
+
+    @Test
+    public void ignoresReferencesInsideStrings() {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate("{{ 'PdfWrapper' }}{{ PdfWrapper.ccdCaseId }}", "PdfWrapper");
+
+        assertFalse(projection.isFull());
+    }
+
+    @Test
+    public void usesTheFullValueWhenTheTemplatePassesItWhole() {
+        PlaceholderProjection projection = PlaceholderProjection.forTemplate("{% set wrapper = PdfWrapper %}{{ wrapper.ccdCaseId }}", "PdfWrapper");
+
+        assertTrue(projection.isFull());
+        assertSame(pdfWrapper, projection.project(pdfWrapper));
+    }
+
+    @Test
+    public void usesTheFullValueWhenTheTemplateIndexesIt() {
+        assertTrue(PlaceholderProjection.forTemplate("{{ PdfWrapper['ccdCaseId'] }}", "PdfWrapper").isFull());
+    }
+
+    @Test
+    public void usesTheFullValueWhenTheTemplateIncludesAnother() {
+        assertTrue(PlaceholderProjection.forTemplate("{% include 'other.html' %}{{ PdfWrapper.ccdCaseId }}", "PdfWrapper").isFull());
+    }
+
+    private static String read(String templatePath) throws IOException {
+        try (InputStream in = PlaceholderProjectionTest.class.getResourceAsStream(templatePath)) {
+            return new String(IOUtils.toByteArray(in), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import uk.gov.hmcts.reform.pdf.service.client.PDFServiceClient;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.domain.pdf.BilingualPdf;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class SscsGeneratePdfServiceTest {
+
+    private static final String ENGLISH_TEMPLATE = "/templates/appellant_appeal_template.html";
+    private static final String WELSH_TEMPLATE = "/templates/appellant_appeal_welsh_template.html";
+
+    @Mock
+    private PDFServiceClient pdfServiceClient;
+
+    private TemplateRegistry templateRegistry;
+
+    private SscsGeneratePdfService service;
+
+    @Before
+    public void setup() {
+        openMocks(this);
+        templateRegistry = new TemplateRegistry();
+        service = new SscsGeneratePdfService(pdfServiceClient, templateRegistry);
+    }
+
+    @Test
+    public void generatesAPdfFromTheTemplate() {
+        when(pdfServiceClient.generateFromHtml(any(), anyMap())).thenReturn("english".getBytes());
+
+        byte[] pdf = service.generatePdf(ENGLISH_TEMPLATE, SscsCaseData.builder().build(), 1L, Map.of());
+
+        assertArrayEquals("english".getBytes(), pdf);
+    }
+
+    @Test
+    public void rendersBothLanguagesAtTheSameTime() throws InterruptedException {
+        byte[] englishTemplate = templateRegistry.getTemplate(ENGLISH_TEMPLATE);
+        byte[] welshTemplate = templateRegistry.getTemplate(WELSH_TEMPLATE);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(pdfServiceClient.generateFromHtml(argThat(template -> template == englishTemplate), anyMap()))
+            .thenAnswer(invocation -> awaitOther(bothStarted, "english"));
+        when(pdfServiceClient.generateFromHtml(argThat(template -> template == welshTemplate),
+            argThat(placeholders -> "Budd-dal".equals(placeholders.get("welshBenefitType")))))
+            .thenAnswer(invocation -> awaitOther(bothStarted, "welsh"));
+
+        BilingualPdf pdf = service.generateBilingualPdf(ENGLISH_TEMPLATE, WELSH_TEMPLATE, SscsCaseData.builder().build(), 1L,
+            Map.of(), Map.of("welshBenefitType", "Budd-dal"));
+
+        assertArrayEquals("english".getBytes(), pdf.getEnglish());
+        assertArrayEquals("welsh".getBytes(), pdf.getWelsh());
+    }
+
+    @Test
+    public void welshPlaceholdersAreNotSentWithTheEnglishRender() {
+        byte[] englishTemplate = templateRegistry.getTemplate(ENGLISH_TEMPLATE);
+        when(pdfServiceClient.generateFromHtml(any(), anyMap())).thenReturn("welsh".getBytes());
+        when(pdfServiceClient.generateFromHtml(argThat(template -> template == englishTemplate), anyMap()))
+            .thenAnswer(invocation -> {
+                Map<String, Object> placeholders = invocation.getArgument(1);
+                assertFalse(placeholders.containsKey("welshBenefitType"));
+                return "english".getBytes();
+            });
+
+        BilingualPdf pdf = service.generateBilingualPdf(ENGLISH_TEMPLATE, WELSH_TEMPLATE, SscsCaseData.builder().build(), 1L,
+            Map.of(), Map.of("welshBenefitType", "Budd-dal"));
+
+        assertEquals("english", new String(pdf.getEnglish()));
+    }
+
+    @Test
+    public void onceDestroyedRendersTheWelshVersionOnTheCallersThread() {
+        byte[] welshTemplate = templateRegistry.getTemplate(WELSH_TEMPLATE);
+        Thread caller = Thread.currentThread();
+        when(pdfServiceClient.generateFromHtml(any(), anyMap())).thenReturn("english".getBytes());
+        when(pdfServiceClient.generateFromHtml(argThat(template -> template == welshTemplate), anyMap()))
+            .thenAnswer(invocation -> (Thread.currentThread() == caller ? "welsh" : "pooled").getBytes());
+
+        service.destroy();
+        BilingualPdf pdf = service.generateBilingualPdf(ENGLISH_TEMPLATE, WELSH_TEMPLATE, SscsCaseData.builder().build(), 1L,
+            Map.of(), Map.of());
+
+        assertEquals("welsh", new String(pdf.getWelsh()));
+    }
+
+    @Test(expected = PdfGenerationException.class)
+    public void aFailedWelshRenderFailsTheBilingualRender() {
+        byte[] welshTemplate = templateRegistry.getTemplate(WELSH_TEMPLATE);
+        when(pdfServiceClient.generateFromHtml(any(), anyMap())).thenReturn("english".getBytes());
+        when(pdfServiceClient.generateFromHtml(argThat(template -> template == welshTemplate), anyMap()))
+            .thenThrow(new PdfGenerationException("down", new RuntimeException()));
+
+        service.generateBilingualPdf(ENGLISH_TEMPLATE, WELSH_TEMPLATE, SscsCaseData.builder().build(), 1L, Map.of(), Map.of());
+    }
+
+    private static byte[] awaitOther(CountDownLatch bothStarted, String content) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("renders did not overlap");
+        }
+        return content.getBytes();
+    }
+}
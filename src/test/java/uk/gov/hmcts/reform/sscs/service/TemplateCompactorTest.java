@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitParamsRunner.class)
+public class TemplateCompactorTest {
+
+    private static final Pattern PNG_DATA_URI = Pattern.compile("data:image/png;base64,([A-Za-z0-9+/=]+)");
+    private static final Pattern PEBBLE_EXPRESSION = Pattern.compile("\\{[{%].*?[}%]}", Pattern.DOTALL);
+
+    @Test
+    @Parameters({"/templates/appellant_appeal_template.html", "/templates/appellant_appeal_welsh_template.html"})
+    public void shrinksTheTemplate(String templatePath) throws IOException {
+        byte[] template = read(templatePath);
+
+        assertThat(TemplateCompactor.compact(template).length, lessThan(template.length));
+    }
+
+    @Test
+    @Parameters({"/templates/appellant_appeal_template.html", "/templates/appellant_appeal_welsh_template.html"})
+    public void keepsEveryTemplateExpression(String templatePath) throws IOException {
+        String template = new String(read(templatePath), StandardCharsets.UTF_8);
+        String compacted = new String(TemplateCompactor.compact(template.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        assertEquals(expressions(template), expressions(compacted));
+    }
+
+    @Test
+    @Parameters({"/templates/appellant_appeal_template.html", "/templates/appellant_appeal_welsh_template.html"})
+    public void keepsTheImagePixels(String templatePath) throws IOException {
+        String template = new String(read(templatePath), StandardCharsets.UTF_8);
+        String compacted = new String(TemplateCompactor.compact(template.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        List<BufferedImage> original = images(template);
+        List<BufferedImage> stripped = images(compacted);
+
+        assertEquals(original.size(), stripped.size());
+        for (int i = 0; i < original.size(); i++) {
+            assertArrayEquals(pixels(original.get(i)), pixels(stripped.get(i)));
+        }
+    }
+
+    @Test
+    public void leavesWhitespaceSensitiveTemplatesAlone() {
+        String template = "<html>\n    <!-- comment -->\n    <pre>\n    text\n    </pre>\n</html>";
+
+        assertEquals(template, new String(TemplateCompactor.compact(template.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void removesCommentsAndIndentation() {
+        String template = "<html>\n    <!-- comment -->\n    <p>{{ name }}</p>\n\n</html>";
+
+        assertEquals("<html>\n<p>{{ name }}</p>\n</html>",
+            new String(TemplateCompactor.compact(template.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void leavesInvalidImagesAlone() {
+        byte[] notAPng = {1, 2, 3};
+
+        assertArrayEquals(notAPng, TemplateCompactor.stripPngMetadata(notAPng));
+    }
+
+    private static byte[] read(String templatePath) throws IOException {
+        try (InputStream in = TemplateCompactorTest.class.getResourceAsStream(templatePath)) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private static List<String> expressions(String template) {
+        List<String> expressions = new ArrayList<>();
+        Matcher matcher = PEBBLE_EXPRESSION.matcher(template);
+        while (matcher.find()) {
+            expressions.add(matcher.group().replaceAll("\\s+", " "));
+        }
+        return expressions;
+    }
+
+    private static List<BufferedImage> images(String template) throws IOException {
+        List<BufferedImage> images = new ArrayList<>();
+        Matcher matcher = PNG_DATA_URI.matcher(template);
+        while (matcher.find()) {
+            images.add(ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(matcher.group(1)))));
+        }
+        return images;
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
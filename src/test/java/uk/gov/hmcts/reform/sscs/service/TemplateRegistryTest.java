@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class TemplateRegistryTest {
+
+    private static final String SENT_NOTIFICATION = "/templates/sent_notification.html";
+
+    @Test
+    public void loadsATemplateOnceAndSharesIt() {
+        TemplateRegistry registry = new TemplateRegistry();
+
+        byte[] template = registry.getTemplate(SENT_NOTIFICATION);
+
+        assertTrue(template.length > 0);
+        assertSame(template, registry.getTemplate(SENT_NOTIFICATION));
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void templateViewIsReadOnly() {
+        ByteBuffer view = new TemplateRegistry().getTemplateView(SENT_NOTIFICATION);
+
+        view.put(0, (byte) 0);
+    }
+
+    @Test
+    public void loadsRequiredTemplatesUpFront() {
+        TemplateRegistry registry = new TemplateRegistry(10, new String[] {SENT_NOTIFICATION});
+
+        assertEquals(registry.getTemplate(SENT_NOTIFICATION).length, registry.getTemplateView(SENT_NOTIFICATION).remaining());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsFastWhenARequiredTemplateIsMissing() {
+        new TemplateRegistry(10, new String[] {"/templates/missing.html"});
+    }
+
+    @Test(expected = PdfGenerationException.class)
+    public void throwsPdfGenerationExceptionForAMissingTemplate() {
+        new TemplateRegistry().getTemplate("/templates/missing.html");
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.springframework.boot.DefaultApplicationArguments;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfGenerationService;
+import uk.gov.hmcts.reform.sscs.exception.PdfGenerationException;
+
+public class TemplateWarmUpTest {
+
+    @Mock
+    private PdfGenerationService pdfGenerationService;
+
+    @Mock
+    private SscsGeneratePdfService sscsGeneratePdfService;
+
+    @Before
+    public void setup() {
+        openMocks(this);
+    }
+
+    @Test
+    public void rendersEveryConfiguredTemplate() {
+        TemplateWarmUp warmUp = new TemplateWarmUp(pdfGenerationService, sscsGeneratePdfService,
+            List.of("TB-SCS-GNO-ENG-00010.doc", "TB-SCS-GNO-ENG-00068.doc"), List.of("/templates/sent_notification.html"), false);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        verify(pdfGenerationService).generatePdf(argThat(holder -> holder.getTemplate().getTemplateName().equals("TB-SCS-GNO-ENG-00010.doc")));
+        verify(pdfGenerationService).generatePdf(argThat(holder -> holder.getTemplate().getTemplateName().equals("TB-SCS-GNO-ENG-00068.doc")));
+        verify(sscsGeneratePdfService).generatePdf(eq("/templates/sent_notification.html"), any(), anyLong(), anyMap());
+    }
+
+    @Test
+    public void carriesOnAfterAFailedTemplate() {
+        when(pdfGenerationService.generatePdf(any())).thenThrow(new PdfGenerationException("down", new RuntimeException()));
+        TemplateWarmUp warmUp = new TemplateWarmUp(pdfGenerationService, null,
+            List.of("first.doc", "second.doc"), List.of("/templates/sent_notification.html"), false);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        verify(pdfGenerationService, times(2)).generatePdf(any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsStartupWhenConfiguredTo() {
+        when(pdfGenerationService.generatePdf(any())).thenThrow(new PdfGenerationException("down", new RuntimeException()));
+        TemplateWarmUp warmUp = new TemplateWarmUp(pdfGenerationService, sscsGeneratePdfService,
+            List.of("first.doc"), List.of(), true);
+
+        warmUp.run(new DefaultApplicationArguments());
+    }
+}
@@ -0,0 +1,148 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.exception.DocmosisUnavailableException;
+
+public class DocmosisConvertGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void returnsTheResultOfTheCall() throws IOException {
+        DocmosisConvertGuard guard = new DocmosisConvertGuard(new AimdConcurrencyLimiter(2, 1, 4, 0.5, 1000),
+                new ConvertCircuitBreaker(2, Duration.ofSeconds(30)), meterRegistry);
+
+        assertEquals("converted", guard.execute(() -> "converted"));
+        assertEquals(0, meterRegistry.get("docmosis.convert.in.flight").gauge().value(), 0);
+    }
+
+    @Test
+    public void rejectsWhenTheConcurrencyLimitIsReached() throws IOException {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(1, 1, 4, 0.5, 1000);
+        DocmosisConvertGuard guard = new DocmosisConvertGuard(limiter, new ConvertCircuitBreaker(2, Duration.ofSeconds(30)), meterRegistry);
+
+        guard.execute(() -> {
+            try {
+                guard.execute(() -> "nested");
+                fail("Expected the nested call to be rejected");
+            } catch (DocmosisUnavailableException e) {
+                // expected
+            }
+            return "outer";
+        });
+
+        assertEquals(1, meterRegistry.get("docmosis.convert.rejected").tag("reason", "limit").counter().count(), 0);
+    }
+
+    @Test
+    public void opensTheCircuitAfterConsecutiveFailuresAndRecoversAfterTheOpenDuration() throws IOException {
+        MutableClock clock = new MutableClock();
+        ConvertCircuitBreaker breaker = new ConvertCircuitBreaker(2, Duration.ofSeconds(30), clock);
+        DocmosisConvertGuard guard = new DocmosisConvertGuard(new AimdConcurrencyLimiter(2, 1, 4, 0.5, 1000), breaker, meterRegistry);
+
+        failingCall(guard);
+        failingCall(guard);
+        assertEquals(ConvertCircuitBreaker.State.OPEN, breaker.getState());
+
+        try {
+            guard.execute(() -> "rejected");
+            fail("Expected the call to be rejected while the circuit is open");
+        } catch (DocmosisUnavailableException e) {
+            assertEquals(1, meterRegistry.get("docmosis.convert.rejected").tag("reason", "circuit_open").counter().count(), 0);
+        }
+
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals("trial", guard.execute(() -> "trial"));
+        assertEquals(ConvertCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void clientErrorsDoNotOpenTheCircuitOrShrinkTheLimit() {
+        ConvertCircuitBreaker breaker = new ConvertCircuitBreaker(2, Duration.ofSeconds(30));
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8, 0.5, 1000);
+        DocmosisConvertGuard guard = new DocmosisConvertGuard(limiter, breaker, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            try {
+                guard.execute(() -> {
+                    throw new DocmosisClientErrorException(400, "Docmosis error (400) converting: bad.docx");
+                });
+                fail("Expected a DocmosisClientErrorException");
+            } catch (IOException e) {
+                assertTrue(e instanceof DocmosisClientErrorException);
+            }
+        }
+
+        assertEquals(ConvertCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void limitBacksOffOnFailureAndGrowsOnSuccess() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8, 0.5, 1000);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(Duration.ofSeconds(2).toNanos(), true);
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            limiter.release(1000, true);
+            limiter.release(1000, true);
+        }
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    private void failingCall(DocmosisConvertGuard guard) {
+        try {
+            guard.execute(() -> {
+                throw new IOException("Docmosis error");
+            });
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
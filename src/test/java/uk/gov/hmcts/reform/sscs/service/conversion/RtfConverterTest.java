@@ -2,15 +2,12 @@ package uk.gov.hmcts.reform.sscs.service.conversion;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
-import static uk.gov.hmcts.reform.sscs.service.conversion.WordDocumentConverterTest.intercept;
 
 import java.io.File;
 import java.io.IOException;
-import okhttp3.Call;
-import okhttp3.OkHttpClient;
-import okhttp3.Response;
-import okhttp3.ResponseBody;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -18,21 +15,9 @@ import org.junit.Test;
 public class RtfConverterTest {
     private RtfConverter rtfConverter;
 
-    private OkHttpClient httpClient;
-
-    private Call call;
-
-    private Response response;
-
-    private ResponseBody responseBody;
-
     @Before
     public void setup() {
-        httpClient = new OkHttpClient
-                .Builder()
-                .addInterceptor(chain -> intercept(chain, 200))
-                .build();
-        rtfConverter = new RtfConverter(httpClient, "http://www.example.com", "key");
+        rtfConverter = new RtfConverter(new TextConverter());
     }
 
     @Test
@@ -46,10 +31,11 @@ public class RtfConverterTest {
         File input = new File(ClassLoader.getSystemResource("Evidence.rtf").getPath());
         File output = rtfConverter.convert(input);
 
-        output.createNewFile();
-
         assertNotEquals(input.getName(), output.getName());
         assertEquals("pdf", FilenameUtils.getExtension(output.getName()));
+        try (PDDocument doc = PDDocument.load(output)) {
+            assertNotEquals("", new PDFTextStripper().getText(doc).trim());
+        }
     }
 
 }
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.sscs.service.conversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Test;
+
+public class TextConverterTest {
+    private final TextConverter converter = new TextConverter();
+
+    @Test
+    public void accepts() {
+        assertEquals("text/plain", converter.accepts().get(0));
+    }
+
+    @Test
+    public void convertTextToA4Pdf() throws IOException {
+        File output = converter.convert(textFile("Some evidence\tfrom the appellant\n\nWith a second paragraph"));
+
+        assertEquals(".pdf", output.getName().substring(output.getName().lastIndexOf(".")));
+        try (PDDocument document = PDDocument.load(output)) {
+            assertEquals(1, document.getPages().getCount());
+            assertEquals(PDRectangle.A4.getWidth(), document.getPage(0).getMediaBox().getWidth(), 0);
+            assertEquals(PDRectangle.A4.getHeight(), document.getPage(0).getMediaBox().getHeight(), 0);
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Some evidence"));
+            assertTrue(text.contains("With a second paragraph"));
+        }
+    }
+
+    @Test
+    public void wrapsLongLinesAndPaginates() throws IOException {
+        String longLine = "word ".repeat(2000) + "x".repeat(500);
+        File output = converter.convert(textFile(longLine));
+
+        try (PDDocument document = PDDocument.load(output)) {
+            assertTrue(document.getPages().getCount() > 1);
+        }
+    }
+
+    @Test
+    public void convertEmptyTextToSinglePage() throws IOException {
+        File output = converter.convert(textFile(""));
+
+        try (PDDocument document = PDDocument.load(output)) {
+            assertEquals(1, document.getPages().getCount());
+        }
+    }
+
+    @Test
+    public void replacesCharactersMissingFromTheFont() throws IOException {
+        File output = converter.convert(textFile("Diolch 中文 😀"));
+
+        try (PDDocument document = PDDocument.load(output)) {
+            assertTrue(new PDFTextStripper().getText(document).contains("Diolch"));
+        }
+    }
+
+    private File textFile(String content) throws IOException {
+        File file = File.createTempFile("textConverterTest", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -1,11 +1,16 @@
 package uk.gov.hmcts.reform.sscs.service.conversion;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import okhttp3.*;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.pdfbox.io.IOUtils;
@@ -47,11 +52,10 @@ public class WordDocumentConverterTest {
 
     @Test
     public void accepts() {
-        assertEquals("text/plain", converter.accepts().get(0));
-        assertEquals("application/msword", converter.accepts().get(1));
-        assertEquals("application/vnd.openxmlformats-officedocument.wordprocessingml.document", converter.accepts().get(2));
-        assertEquals("application/x-tika-ooxml", converter.accepts().get(3));
-        assertEquals("application/x-tika-msoffice", converter.accepts().get(4));
+        assertEquals("application/msword", converter.accepts().get(0));
+        assertEquals("application/vnd.openxmlformats-officedocument.wordprocessingml.document", converter.accepts().get(1));
+        assertEquals("application/x-tika-ooxml", converter.accepts().get(2));
+        assertEquals("application/x-tika-msoffice", converter.accepts().get(3));
     }
 
     @Test
@@ -64,6 +68,47 @@ public class WordDocumentConverterTest {
         assertEquals("pdf", FilenameUtils.getExtension(output.getName()));
     }
 
+    @Test
+    public void backsOffWhenDocmosisIsOverloaded() {
+        assertBacksOff(429);
+        assertBacksOff(408);
+        assertBacksOff(503);
+    }
+
+    @Test
+    public void leavesTheLimitAloneOnAClientError() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8, 0.5, 60_000);
+        ConvertCircuitBreaker breaker = new ConvertCircuitBreaker(1, Duration.ofSeconds(30));
+
+        IOException error = assertThrows(IOException.class, () -> convertWith(400, limiter, breaker));
+
+        assertTrue(error instanceof DocmosisClientErrorException);
+        assertEquals(4, limiter.getLimit());
+        assertEquals(ConvertCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void assertBacksOff(int status) {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8, 0.5, 60_000);
+        ConvertCircuitBreaker breaker = new ConvertCircuitBreaker(1, Duration.ofSeconds(30));
+
+        IOException error = assertThrows(IOException.class, () -> convertWith(status, limiter, breaker));
+
+        assertFalse(error instanceof DocmosisClientErrorException);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(ConvertCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void convertWith(int status, AimdConcurrencyLimiter limiter, ConvertCircuitBreaker breaker) throws IOException {
+        OkHttpClient client = new OkHttpClient
+                .Builder()
+                .addInterceptor(chain -> intercept(chain, status))
+                .build();
+        DocmosisConvertGuard guard = new DocmosisConvertGuard(limiter, breaker, new SimpleMeterRegistry());
+
+        new WordDocumentConverter(client, "http://www.example.com", "key", guard)
+                .convert(new File(ClassLoader.getSystemResource("wordDocument.doc").getPath()));
+    }
+
     @Test(expected = IOException.class)
     public void failsConversion() throws IOException {
         httpClient = new OkHttpClient
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.ccd.document.am.feign.CaseDocumentClient;
+import uk.gov.hmcts.reform.document.DocumentUploadClientApi;
+import uk.gov.hmcts.reform.sscs.document.EvidenceDownloadClientApi;
+import uk.gov.hmcts.reform.sscs.document.EvidenceMetadataDownloadClientApi;
+import uk.gov.hmcts.reform.sscs.service.EvidenceManagementSecureDocStoreService;
+import uk.gov.hmcts.reform.sscs.service.EvidenceManagementService;
+
+/**
+ * Starts the Feign clients the document store services use, pointed at {@link DocStoreStubServer} through their
+ * URL properties, so the throughput runs go through the library's own upload and download code.
+ */
+public class DocStoreClients implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    public DocStoreClients(String baseUrl) {
+        context = new SpringApplicationBuilder(Clients.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("case_document_am.url=" + baseUrl, "document_management.url=" + baseUrl)
+                .run();
+    }
+
+    public EvidenceManagementSecureDocStoreService secureDocStoreService() {
+        return new EvidenceManagementSecureDocStoreService(context.getBean(CaseDocumentClient.class),
+                context.getBean(EvidenceDownloadClientApi.class));
+    }
+
+    public EvidenceManagementService evidenceManagementService(AuthTokenGenerator authTokenGenerator) {
+        return new EvidenceManagementService(authTokenGenerator, context.getBean(DocumentUploadClientApi.class),
+                context.getBean(EvidenceDownloadClientApi.class), context.getBean(EvidenceMetadataDownloadClientApi.class));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+        FeignAutoConfiguration.class})
+    @EnableFeignClients(basePackageClasses = {CaseDocumentClient.class, DocumentUploadClientApi.class,
+        EvidenceDownloadClientApi.class})
+    @ComponentScan(basePackageClasses = CaseDocumentClient.class)
+    static class Clients {
+    }
+}
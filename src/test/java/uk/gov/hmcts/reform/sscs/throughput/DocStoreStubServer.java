@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import java.io.IOException;
+import java.util.UUID;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Emulates the dm-store ({@code /documents}) and CCD case document ({@code /cases/documents}) upload, metadata and
+ * binary download APIs with configurable latency and download size.
+ */
+public class DocStoreStubServer implements AutoCloseable {
+
+    private final MockWebServer server = new MockWebServer();
+
+    public DocStoreStubServer(StubBehaviour upload, StubBehaviour download) throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if ("POST".equals(request.getMethod()) && "/documents".equals(path)) {
+                    return upload.delayed(json(dmStoreUploadResponse(UUID.randomUUID().toString())));
+                }
+                if ("POST".equals(request.getMethod()) && "/cases/documents".equals(path)) {
+                    return upload.delayed(json(caseDocumentUploadResponse(UUID.randomUUID().toString())));
+                }
+                if ("GET".equals(request.getMethod()) && path != null && path.matches("/documents/[^/]+")) {
+                    return json(dmStoreDocument(path.substring("/documents/".length())));
+                }
+                if ("GET".equals(request.getMethod()) && path != null && path.endsWith("/binary")) {
+                    return download.delayed(new MockResponse()
+                            .setHeader("Content-Type", "application/pdf")
+                            .setBody(new Buffer().write(download.pdfPayload())));
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+    }
+
+    public String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    private MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private String dmStoreUploadResponse(String id) {
+        return "{\"_embedded\":{\"documents\":[" + dmStoreDocument(id) + "]}}";
+    }
+
+    private String dmStoreDocument(String id) {
+        String self = baseUrl() + "/documents/" + id;
+        return "{\"size\":1,\"mimeType\":\"application/pdf\",\"originalDocumentName\":\"stub.pdf\","
+                + "\"_links\":{\"self\":{\"href\":\"" + self + "\"},\"binary\":{\"href\":\"" + self + "/binary\"}}}";
+    }
+
+    private String caseDocumentUploadResponse(String id) {
+        String self = baseUrl() + "/cases/documents/" + id;
+        return "{\"documents\":[{\"classification\":\"RESTRICTED\",\"size\":1,\"mimeType\":\"application/pdf\","
+                + "\"originalDocumentName\":\"stub.pdf\",\"hashToken\":\"" + UUID.randomUUID() + "\","
+                + "\"_links\":{\"self\":{\"href\":\"" + self + "\"},\"binary\":{\"href\":\"" + self + "/binary\"}}}]}";
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import java.io.IOException;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Emulates the Docmosis render and convert endpoints, answering every request with a PDF after the configured
+ * delay.
+ */
+public class DocmosisStubServer implements AutoCloseable {
+
+    public static final String RENDER_PATH = "/rs/render";
+    public static final String CONVERT_PATH = "/rs/convert";
+
+    private final MockWebServer server = new MockWebServer();
+
+    public DocmosisStubServer(StubBehaviour render, StubBehaviour convert) throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("POST".equals(request.getMethod()) && RENDER_PATH.equals(request.getPath())) {
+                    return pdfResponse(render);
+                }
+                if ("POST".equals(request.getMethod()) && CONVERT_PATH.equals(request.getPath())) {
+                    return pdfResponse(convert);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+    }
+
+    public String renderUrl() {
+        return server.url(RENDER_PATH).toString();
+    }
+
+    public String convertUrl() {
+        return server.url(CONVERT_PATH).toString();
+    }
+
+    private static MockResponse pdfResponse(StubBehaviour behaviour) {
+        return behaviour.delayed(new MockResponse()
+                .setHeader("Content-Type", "application/pdf")
+                .setBody(new Buffer().write(behaviour.pdfPayload())));
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+}
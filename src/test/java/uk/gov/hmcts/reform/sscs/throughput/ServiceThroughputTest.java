@@ -0,0 +1,116 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsDocument;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.docmosis.service.DocmosisPdfGenerationService;
+import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
+import uk.gov.hmcts.reform.sscs.service.PdfStoreService;
+import uk.gov.hmcts.reform.sscs.service.conversion.WordDocumentConverter;
+
+/**
+ * Throughput and latency of the services that call Docmosis and the document stores, run against local stubs.
+ * Excluded from the normal build; run with {@code ./gradlew throughputTest}. Load and stub behaviour can be tuned
+ * with the {@code throughput.*} system properties.
+ */
+@Slf4j
+public class ServiceThroughputTest {
+
+    private static final int THREADS = Integer.getInteger("throughput.threads", 16);
+    private static final int OPERATIONS = Integer.getInteger("throughput.operations", 500);
+    private static final int WARM_UP = Integer.getInteger("throughput.warmUp", 20);
+    private static final long LATENCY_MILLIS = Long.getLong("throughput.latencyMillis", 50);
+    private static final long JITTER_MILLIS = Long.getLong("throughput.jitterMillis", 20);
+    private static final int PAYLOAD_BYTES = Integer.getInteger("throughput.payloadBytes", 256 * 1024);
+
+    private static DocmosisStubServer docmosis;
+    private static DocStoreStubServer docStore;
+    private static DocStoreClients docStoreClients;
+
+    private final ThroughputRunner runner = new ThroughputRunner(THREADS, OPERATIONS, WARM_UP);
+
+    @BeforeClass
+    public static void startStubs() throws Exception {
+        StubBehaviour behaviour = StubBehaviour.builder()
+                .latencyMillis(LATENCY_MILLIS)
+                .jitterMillis(JITTER_MILLIS)
+                .payloadBytes(PAYLOAD_BYTES)
+                .build();
+        docmosis = new DocmosisStubServer(behaviour, behaviour);
+        docStore = new DocStoreStubServer(behaviour, behaviour);
+        docStoreClients = new DocStoreClients(docStore.baseUrl());
+    }
+
+    @AfterClass
+    public static void stopStubs() throws Exception {
+        docStoreClients.close();
+        docmosis.close();
+        docStore.close();
+    }
+
+    @Test
+    public void wordDocumentConverter() throws Exception {
+        WordDocumentConverter converter = new WordDocumentConverter(new OkHttpClient(), docmosis.convertUrl(), "key");
+        File input = new File(ClassLoader.getSystemResource("wordDocument.doc").getPath());
+
+        report(runner.run("WordDocumentConverter.convert", () -> converter.convert(input).delete()));
+    }
+
+    @Test
+    public void docmosisPdfGenerationService() throws Exception {
+        DocmosisPdfGenerationService service = new DocmosisPdfGenerationService(docmosis.renderUrl(), "key", new RestTemplate());
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("appellant_full_name", "Harry Potter");
+        DocumentHolder holder = DocumentHolder.builder().template(new Template("TB-SCS-GNO-ENG-00001.docx", "dl6"))
+                .placeholders(placeholders).build();
+
+        report(runner.run("DocmosisPdfGenerationService.generatePdf", () -> service.generatePdf(holder)));
+    }
+
+    @Test
+    public void pdfStoreServiceWithTheSecureDocStore() throws Exception {
+        runPdfStoreService("PdfStoreService (secure doc store)", true);
+    }
+
+    @Test
+    public void pdfStoreServiceWithDmStore() throws Exception {
+        runPdfStoreService("PdfStoreService (dm-store)", false);
+    }
+
+    private void runPdfStoreService(String name, boolean secureDocStoreEnabled) throws Exception {
+        IdamService idamService = mock(IdamService.class);
+        when(idamService.getIdamTokens()).thenReturn(IdamTokens.builder().idamOauth2Token("Bearer token")
+                .serviceAuthorization("s2s").build());
+        AuthTokenGenerator authTokenGenerator = mock(AuthTokenGenerator.class);
+        when(authTokenGenerator.generate()).thenReturn("s2s");
+        PdfStoreService service = new PdfStoreService(docStoreClients.evidenceManagementService(authTokenGenerator),
+                docStoreClients.secureDocStoreService(), secureDocStoreEnabled, idamService);
+        byte[] content = StubBehaviour.builder().payloadBytes(PAYLOAD_BYTES).build().pdfPayload();
+
+        report(runner.run(name + ".storeDocument", () -> service.storeDocument(content, "letter.pdf", "dl6")));
+
+        SscsDocument stored = service.storeDocument(content, "letter.pdf", "dl6");
+        String href = stored.getValue().getDocumentLink().getDocumentUrl();
+        report(runner.run(name + ".download", () -> service.download(href)));
+    }
+
+    private void report(ThroughputRunner.Result result) {
+        log.info("{}", result);
+        assertEquals("Operations should not fail against the stubs", 0, result.getErrors());
+    }
+}
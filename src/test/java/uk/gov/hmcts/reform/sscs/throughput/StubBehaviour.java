@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Value;
+import okhttp3.mockwebserver.MockResponse;
+
+/**
+ * Latency and payload size a stub endpoint should emulate.
+ */
+@Value
+@Builder
+public class StubBehaviour {
+
+    @Builder.Default
+    long latencyMillis = 0;
+
+    @Builder.Default
+    long jitterMillis = 0;
+
+    @Builder.Default
+    int payloadBytes = 64 * 1024;
+
+    long nextDelayMillis() {
+        return latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+    }
+
+    MockResponse delayed(MockResponse response) {
+        return response.setHeadersDelay(nextDelayMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    byte[] pdfPayload() {
+        byte[] header = "%PDF-1.4\n".getBytes();
+        byte[] payload = Arrays.copyOf(header, Math.max(payloadBytes, header.length));
+        Arrays.fill(payload, header.length, payload.length, (byte) ' ');
+        return payload;
+    }
+}
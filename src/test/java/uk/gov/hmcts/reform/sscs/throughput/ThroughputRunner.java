@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.sscs.throughput;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Value;
+
+/**
+ * Runs an operation a fixed number of times across a pool of threads and reports throughput and latency
+ * percentiles.
+ */
+public class ThroughputRunner {
+
+    private final int threads;
+    private final int operations;
+    private final int warmUpOperations;
+
+    public ThroughputRunner(int threads, int operations, int warmUpOperations) {
+        this.threads = threads;
+        this.operations = operations;
+        this.warmUpOperations = warmUpOperations;
+    }
+
+    public Result run(String name, Callable<?> operation) throws Exception {
+        for (int i = 0; i < warmUpOperations; i++) {
+            operation.call();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(operations));
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(operations);
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < operations; i++) {
+                futures.add(executor.submit(() -> {
+                    long opStart = System.nanoTime();
+                    try {
+                        operation.call();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - opStart);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(name, operations, errors.get(),
+                operations / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Value
+    public static class Result {
+        String name;
+        int operations;
+        int errors;
+        double opsPerSecond;
+        double p50Millis;
+        double p99Millis;
+
+        @Override
+        public String toString() {
+            return String.format("%-30s ops=%d errors=%d ops/sec=%.1f p50=%.1fms p99=%.1fms",
+                    name, operations, errors, opsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}